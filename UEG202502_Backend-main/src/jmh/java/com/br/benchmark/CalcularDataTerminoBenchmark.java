@@ -0,0 +1,64 @@
+package com.br.benchmark;
+
+import com.br.service.CalendarioAcademico;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cálculo da data de término pelo CalendarioAcademico: uma turma e o recálculo de um lote de turmas
+ * com datas de início e turnos variados (as tabelas de dias letivos já montadas no @Setup).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalcularDataTerminoBenchmark {
+
+    private static final String[] TURNOS = {"Matutino", "Vespertino", "Noturno"};
+
+    // Carga horária total da turma
+    @Param({"40", "400", "4000"})
+    private int totalHoras;
+
+    private CalendarioAcademico calendario;
+
+    private Date[] inicios;
+
+    private String[] turnos;
+
+    @Setup
+    public void preparar() {
+        calendario = new CalendarioAcademico(
+                List.of("01-01", "04-21", "05-01", "09-07", "10-12", "11-02", "11-15", "11-20", "12-25"),
+                4, 4, 3, 8, "UTC");
+        Random aleatorio = new Random(42);
+        inicios = new Date[1000];
+        turnos = new String[inicios.length];
+        for (int i = 0; i < inicios.length; i++) {
+            inicios[i] = new Date(1_738_368_000_000L + aleatorio.nextInt(365) * 86_400_000L);
+            turnos[i] = TURNOS[i % TURNOS.length];
+        }
+        recalcularMilTurmas();
+    }
+
+    @Benchmark
+    public Date calcularDataTermino() {
+        return calendario.calcularDataTermino(inicios[0], totalHoras, "Noturno");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1000)
+    public long recalcularMilTurmas() {
+        long soma = 0;
+        for (int i = 0; i < inicios.length; i++) {
+            soma += calendario.calcularDataTermino(inicios[i], totalHoras, turnos[i]).getTime();
+        }
+        return soma;
+    }
+}
@@ -0,0 +1,124 @@
+package com.br.benchmark;
+
+import com.br.BackendUeg202502Application;
+import com.br.model.Aluno;
+import com.br.model.Curso;
+import com.br.model.Turma;
+import com.br.repository.AlunoRepository;
+import com.br.repository.CursoRepository;
+import com.br.repository.TurmaRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão e latência (p99 na saída do modo SampleTime) de GET /alunos/{id} e POST /turmas sobre
+ * HTTP, com a aplicação em execução no modo padrão (pool de threads do Tomcat) e no modo com
+ * threads virtuais (perfil "virtual"). Muitas threads cliente simultâneas simulam o pico de
+ * matrículas.
+ *
+ * O modo "virtual" só tem efeito em Java 21 ou superior:
+ *   mvn -Pbenchmark,java21 test-compile exec:exec -Djmh.filtro=ModoExecucao
+ * Em Java 17 os dois modos executam com threads de plataforma.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(256)
+@Fork(1)
+public class ModoExecucaoBenchmark {
+
+    private static final int ALUNOS = 2000;
+
+    @Param({"plataforma", "virtual"})
+    private String modo;
+
+    private ConfigurableApplicationContext contexto;
+
+    private HttpClient cliente;
+
+    private String base;
+
+    private List<Long> codigos;
+
+    private String novaTurma;
+
+    @Setup
+    public void iniciar() {
+        String perfis = modo.equals("virtual") ? "test,virtual" : "test";
+        contexto = new SpringApplicationBuilder(BackendUeg202502Application.class)
+            .profiles(perfis.split(","))
+            .properties("server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "logging.level.root=WARN")
+            .run();
+        base = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port");
+        cliente = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        Curso curso = new Curso();
+        curso.setNome("Excel Avançado");
+        curso.setCargaHoraria(90);
+        curso = contexto.getBean(CursoRepository.class).save(curso);
+
+        Turma turma = contexto.getBean(TurmaRepository.class)
+            .save(new Turma("Noturno", new ArrayList<>(List.of(curso)), new Date(), null));
+
+        List<Aluno> alunos = new ArrayList<>();
+        for (int i = 0; i < ALUNOS; i++) {
+            Aluno aluno = new Aluno();
+            aluno.setNome("Aluno " + i);
+            aluno.setSemestre(1);
+            aluno.setBolsista(false);
+            aluno.setMensalidade(350.0);
+            aluno.setTurma(turma);
+            aluno.setCursos(new ArrayList<>(List.of(curso)));
+            alunos.add(aluno);
+        }
+        codigos = new ArrayList<>();
+        contexto.getBean(AlunoRepository.class).saveAll(alunos).forEach(salvo -> codigos.add(salvo.getCodigo()));
+
+        novaTurma = "{\"turno\":\"Matutino\",\"dataInicio\":\"2025-02-03\",\"cursos\":[{\"id\":" + curso.getId() + "}]}";
+    }
+
+    @TearDown
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public int consultarAluno() throws Exception {
+        Long codigo = codigos.get(ThreadLocalRandom.current().nextInt(codigos.size()));
+        HttpRequest requisicao = HttpRequest.newBuilder(URI.create(base + "/alunos/" + codigo)).GET().build();
+        return enviar(requisicao, 200);
+    }
+
+    @Benchmark
+    public int cadastrarTurma() throws Exception {
+        HttpRequest requisicao = HttpRequest.newBuilder(URI.create(base + "/turmas"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(novaTurma))
+            .build();
+        return enviar(requisicao, 200);
+    }
+
+    private int enviar(HttpRequest requisicao, int esperado) throws Exception {
+        int status = cliente.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status != esperado) {
+            throw new IllegalStateException("Status inesperado " + status + " em " + requisicao.uri());
+        }
+        return status;
+    }
+}
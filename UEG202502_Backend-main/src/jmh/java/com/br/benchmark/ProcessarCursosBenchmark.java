@@ -0,0 +1,85 @@
+package com.br.benchmark;
+
+import com.br.model.Curso;
+import com.br.model.Turma;
+import com.br.repository.CursoRepository;
+import com.br.service.CursoCatalogo;
+import com.br.service.TurmaService;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolução dos cursos de uma turma (TurmaService.processarCursos) com catálogos de tamanhos
+ * diferentes. Metade dos cursos chega com ID e metade apenas com o nome (com variações de
+ * maiúsculas e espaços), como enviado pelo frontend.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProcessarCursosBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    private int tamanhoCatalogo;
+
+    @Param({"5", "50"})
+    private int cursosPorTurma;
+
+    private TurmaService turmaService;
+
+    private MethodHandle processarCursos;
+
+    private List<Curso> recebidos;
+
+    @Setup
+    public void preparar() throws ReflectiveOperationException {
+        List<Curso> catalogo = new ArrayList<>();
+        for (long i = 1; i <= tamanhoCatalogo; i++) {
+            Curso curso = new Curso();
+            curso.setId(i);
+            curso.setNome("Curso de Extensão " + i);
+            curso.setCargaHoraria(40);
+            catalogo.add(curso);
+        }
+        CursoRepository cursoRepository = Mockito.mock(CursoRepository.class);
+        Mockito.when(cursoRepository.findAll()).thenReturn(catalogo);
+
+        CursoCatalogo cursoCatalogo = new CursoCatalogo();
+        ReflectionTestUtils.setField(cursoCatalogo, "cursoRepository", cursoRepository);
+        turmaService = new TurmaService();
+        ReflectionTestUtils.setField(turmaService, "cursoCatalogo", cursoCatalogo);
+
+        processarCursos = MethodHandles.privateLookupIn(TurmaService.class, MethodHandles.lookup())
+            .findVirtual(TurmaService.class, "processarCursos", MethodType.methodType(void.class, Turma.class));
+
+        recebidos = new ArrayList<>();
+        for (int i = 0; i < cursosPorTurma; i++) {
+            Curso original = catalogo.get((i * 7919) % tamanhoCatalogo);
+            Curso recebido = new Curso();
+            if (i % 2 == 0) {
+                recebido.setId(original.getId());
+            } else {
+                recebido.setNome("  " + original.getNome().toUpperCase() + " ");
+            }
+            recebidos.add(recebido);
+        }
+    }
+
+    @Benchmark
+    public Turma processarCursos() throws Throwable {
+        Turma turma = new Turma();
+        turma.setCursos(new ArrayList<>(recebidos));
+        processarCursos.invokeExact(turmaService, turma);
+        return turma;
+    }
+}
@@ -0,0 +1,121 @@
+package com.br.benchmark;
+
+import com.br.BackendUeg202502Application;
+import com.br.dto.AlunoResumoDTO;
+import com.br.dto.Pagina;
+import com.br.dto.TurmaResumoDTO;
+import com.br.model.Aluno;
+import com.br.model.Curso;
+import com.br.model.Turma;
+import com.br.repository.AlunoRepository;
+import com.br.repository.CursoRepository;
+import com.br.repository.TurmaRepository;
+import com.br.service.AlunoService;
+import com.br.service.TurmaService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ponta a ponta nos serviços e repositórios, com a aplicação iniciada sobre o H2 em memória
+ * (perfil "test"): listagem paginada de alunos, consulta de aluno por ID e listagem de turmas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositorioBenchmark {
+
+    private static final int TURMAS = 50;
+
+    @Param({"1000", "10000"})
+    private int quantidadeAlunos;
+
+    private ConfigurableApplicationContext contexto;
+
+    private AlunoService alunoService;
+
+    private TurmaService turmaService;
+
+    private List<Long> codigos;
+
+    @Setup
+    public void iniciar() {
+        contexto = new SpringApplicationBuilder(BackendUeg202502Application.class)
+            .profiles("test")
+            .web(WebApplicationType.NONE)
+            .properties("spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "logging.level.root=WARN")
+            .run();
+        alunoService = contexto.getBean(AlunoService.class);
+        turmaService = contexto.getBean(TurmaService.class);
+
+        CursoRepository cursoRepository = contexto.getBean(CursoRepository.class);
+        List<Curso> cursos = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Curso curso = new Curso();
+            curso.setNome("Curso " + i);
+            curso.setCargaHoraria(40 + 10 * i);
+            cursos.add(curso);
+        }
+        cursos = cursoRepository.saveAll(cursos);
+
+        TurmaRepository turmaRepository = contexto.getBean(TurmaRepository.class);
+        List<Turma> turmas = new ArrayList<>();
+        for (int i = 0; i < TURMAS; i++) {
+            turmas.add(new Turma(i % 2 == 0 ? "Matutino" : "Noturno",
+                new ArrayList<>(List.of(cursos.get(i % 10), cursos.get((i + 3) % 10))), new Date(), null));
+        }
+        turmas = turmaRepository.saveAll(turmas);
+
+        AlunoRepository alunoRepository = contexto.getBean(AlunoRepository.class);
+        codigos = new ArrayList<>();
+        List<Aluno> lote = new ArrayList<>();
+        for (int i = 0; i < quantidadeAlunos; i++) {
+            Aluno aluno = new Aluno();
+            aluno.setNome("Aluno " + i);
+            aluno.setSemestre(i % 8 + 1);
+            aluno.setBolsista(i % 3 == 0);
+            aluno.setMensalidade(350.0);
+            aluno.setTurma(turmas.get(i % TURMAS));
+            aluno.setCursos(new ArrayList<>(List.of(cursos.get(i % 10))));
+            lote.add(aluno);
+            if (lote.size() == 1000) {
+                alunoRepository.saveAll(lote).forEach(salvo -> codigos.add(salvo.getCodigo()));
+                lote.clear();
+            }
+        }
+        alunoRepository.saveAll(lote).forEach(salvo -> codigos.add(salvo.getCodigo()));
+    }
+
+    @TearDown
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Pagina<AlunoResumoDTO> listarPaginaAlunos() {
+        return alunoService.listarAlunos(null, 100, null, null, null, null);
+    }
+
+    @Benchmark
+    public Optional<AlunoResumoDTO> consultarAluno() {
+        return alunoService.consultarResumo(codigos.get(ThreadLocalRandom.current().nextInt(codigos.size())));
+    }
+
+    @Benchmark
+    public List<TurmaResumoDTO> listarTurmas() {
+        return turmaService.listarResumos();
+    }
+}
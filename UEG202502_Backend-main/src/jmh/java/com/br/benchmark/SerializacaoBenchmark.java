@@ -0,0 +1,64 @@
+package com.br.benchmark;
+
+import com.br.dto.AlunoResumoDTO;
+import com.br.dto.CursoResumoDTO;
+import com.br.dto.TurmaReferenciaDTO;
+import com.br.dto.TurmaResumoDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização JSON das respostas de GET /alunos e GET /turmas com listas de tamanhos crescentes,
+ * usando um ObjectMapper configurado como o do Spring Boot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacaoBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int tamanho;
+
+    private ObjectMapper objectMapper;
+
+    private List<AlunoResumoDTO> alunos;
+
+    private List<TurmaResumoDTO> turmas;
+
+    @Setup
+    public void preparar() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<CursoResumoDTO> cursos = List.of(
+            new CursoResumoDTO(1L, "Excel Avançado", 90),
+            new CursoResumoDTO(2L, "Marketing Digital", 110));
+        Date hoje = new Date();
+
+        alunos = new ArrayList<>();
+        turmas = new ArrayList<>();
+        for (long i = 1; i <= tamanho; i++) {
+            TurmaReferenciaDTO turma = new TurmaReferenciaDTO(i % 50, "Noturno", hoje, hoje);
+            alunos.add(new AlunoResumoDTO(i, "Aluno " + i, hoje, 350.0, (int) (i % 8) + 1, i % 3 == 0, turma, cursos, 0L));
+            turmas.add(new TurmaResumoDTO(i, "Matutino", hoje, hoje, cursos, i % 40, 40, 0L));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializarAlunos() throws Exception {
+        return objectMapper.writeValueAsBytes(alunos);
+    }
+
+    @Benchmark
+    public byte[] serializarTurmas() throws Exception {
+        return objectMapper.writeValueAsBytes(turmas);
+    }
+}
@@ -0,0 +1,10 @@
+package com.br.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Habilita as tarefas @Scheduled (ex.: promoção da lista de espera)
+@Configuration
+@EnableScheduling
+public class AgendamentoConfig {
+}
@@ -1,17 +1,27 @@
 package com.br.controller;
 
+import com.br.dto.AlunoResumoDTO;
+import com.br.dto.Pagina;
+import com.br.dto.RelatorioImportacaoDTO;
+import com.br.exception.ResourceNotFoundException;
+import com.br.exception.TurmaLotadaException;
+import com.br.exception.VersaoDesatualizadaException;
 import com.br.model.Aluno;
 import com.br.model.Turma;
 import com.br.model.Curso;
 import com.br.service.AlunoService;
 import com.br.service.TurmaService;
 import com.br.service.CursoService;
+import com.br.service.ImportacaoAlunoService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.io.InputStream;
 import java.util.Optional;
 
 @RestController
@@ -28,31 +38,68 @@ public class AlunoController {
     @Autowired
     private CursoService cursoService;
 
-    // Endpoint para listar todos os alunos
+    @Autowired
+    private ImportacaoAlunoService importacaoAlunoService;
+
+    // Endpoint para listar os alunos paginados por cursor, com filtros opcionais
     @GetMapping
-    public ResponseEntity<List<Aluno>> listarAlunos() {
+    public ResponseEntity<Pagina<AlunoResumoDTO>> listarAlunos(@RequestParam(required = false) Long cursor,
+                                                      @RequestParam(required = false) Integer limite,
+                                                      @RequestParam(required = false) Long turma,
+                                                      @RequestParam(required = false) Integer semestre,
+                                                      @RequestParam(required = false) Boolean bolsista,
+                                                      @RequestParam(required = false) String nome) {
         try {
-            List<Aluno> alunos = alunoService.listarAlunos();
+            Pagina<AlunoResumoDTO> alunos = alunoService.listarAlunos(cursor, limite, turma, semestre, bolsista, nome);
             return ResponseEntity.ok(alunos);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    // Endpoint para buscar alunos pelo nome, em ordem de relevância (cursor = proximoCursor da página anterior)
+    @GetMapping("/search")
+    public ResponseEntity<Pagina<AlunoResumoDTO>> buscarAlunos(@RequestParam String q,
+                                                               @RequestParam(required = false) Long cursor,
+                                                               @RequestParam(required = false) Integer limite) {
+        try {
+            return ResponseEntity.ok(alunoService.buscarAlunos(q, cursor, limite));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     // Endpoint para salvar um novo aluno
     @PostMapping
-    public ResponseEntity<Aluno> salvarAluno(@RequestBody Aluno aluno) {
+    public ResponseEntity<AlunoResumoDTO> salvarAluno(@RequestBody Aluno aluno) {
         try {
             Aluno alunoSalvo = alunoService.salvarAluno(aluno);
-            return ResponseEntity.status(HttpStatus.CREATED).body(alunoSalvo);
+            return ResponseEntity.status(HttpStatus.CREATED).body(AlunoResumoDTO.de(alunoSalvo));
+        } catch (TurmaLotadaException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
-    // Endpoint para editar um aluno existente
+    // Endpoint para importar alunos em lote (JSON array, NDJSON ou CSV), com o resultado de cada linha
+    @PostMapping(value = "/lote", consumes = {MediaType.APPLICATION_JSON_VALUE,
+            ImportacaoAlunoService.NDJSON, ImportacaoAlunoService.CSV})
+    public ResponseEntity<RelatorioImportacaoDTO> importarAlunos(@RequestHeader(HttpHeaders.CONTENT_TYPE) String tipoConteudo,
+                                                                 InputStream conteudo) {
+        try {
+            return ResponseEntity.ok(importacaoAlunoService.importar(conteudo, tipoConteudo));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // Endpoint para editar um aluno existente (If-Match opcional: 412 se a versão não for a atual)
     @PutMapping("/{id}")
-    public ResponseEntity<Aluno> editarAluno(@PathVariable Long id, @RequestBody Aluno dadosAluno) {
+    public ResponseEntity<AlunoResumoDTO> editarAluno(@PathVariable Long id, @RequestBody Aluno dadosAluno,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
             // Buscar o aluno existente
             Optional<Aluno> alunoExistenteOpt = alunoService.buscarAlunoPorId(id);
@@ -62,6 +109,7 @@ public class AlunoController {
             }
             
             Aluno aluno = alunoExistenteOpt.get();
+            alunoService.verificarVersao(aluno, Precondicoes.versaoEsperada(ifMatch));
             
             // Atualizar campos básicos
             if (dadosAluno.getNome() != null) {
@@ -99,19 +147,46 @@ public class AlunoController {
             }
 
             Aluno alunoAtualizado = alunoService.salvarAluno(aluno);
-            return ResponseEntity.ok(alunoAtualizado);
+            return ResponseEntity.ok()
+                .eTag(Precondicoes.etag(alunoAtualizado.getVersao()))
+                .body(AlunoResumoDTO.de(alunoAtualizado));
             
+        } catch (VersaoDesatualizadaException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (TurmaLotadaException | OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
-    // Endpoint para excluir um aluno
+    // Endpoint para matricular o aluno em uma turma, reservando a vaga (404 se o aluno ou a turma não
+    // existir, 409 se a turma estiver lotada ou se o aluno foi alterado por outra requisição)
+    @PutMapping("/{id}/turma/{idTurma}")
+    public ResponseEntity<AlunoResumoDTO> matricularNaTurma(@PathVariable Long id, @PathVariable Long idTurma) {
+        try {
+            Aluno aluno = alunoService.matricularNaTurma(id, idTurma);
+            return ResponseEntity.ok(AlunoResumoDTO.de(aluno));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (TurmaLotadaException | OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    // Endpoint para excluir um aluno (If-Match opcional: 412 se a versão não for a atual)
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> excluirAluno(@PathVariable Long id) {
+    public ResponseEntity<Void> excluirAluno(@PathVariable Long id,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            alunoService.excluirAluno(id);
+            alunoService.excluirAluno(id, Precondicoes.versaoEsperada(ifMatch));
             return ResponseEntity.noContent().build();
+        } catch (VersaoDesatualizadaException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         } catch (Exception e) {
@@ -119,14 +194,14 @@ public class AlunoController {
         }
     }
 
-    // Endpoint para consultar um aluno por ID
+    // Endpoint para consultar um aluno por ID (com ETag; If-None-Match responde 304)
     @GetMapping("/{id}")
-    public ResponseEntity<Aluno> consultarAluno(@PathVariable Long id) {
+    public ResponseEntity<AlunoResumoDTO> consultarAluno(@PathVariable Long id) {
         try {
-            Optional<Aluno> alunoOpt = alunoService.buscarAlunoPorId(id);
+            Optional<AlunoResumoDTO> alunoOpt = alunoService.consultarResumo(id);
             
             if (alunoOpt.isPresent()) {
-                return ResponseEntity.ok(alunoOpt.get());
+                return ResponseEntity.ok().eTag(Precondicoes.etag(alunoOpt.get().versao())).body(alunoOpt.get());
             } else {
                 return ResponseEntity.notFound().build();
             }
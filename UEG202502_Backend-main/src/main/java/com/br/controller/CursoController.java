@@ -1,11 +1,22 @@
 package com.br.controller;
 
+import com.br.dto.CursoResumoDTO;
+import com.br.dto.EstatisticasCatalogoDTO;
+import com.br.dto.Pagina;
+import com.br.exception.CursoDuplicadoException;
+import com.br.exception.VersaoDesatualizadaException;
 import com.br.model.Curso;
 import com.br.service.CursoService;
+import com.br.service.RegistroAlteracoes;
+import com.br.service.RegistroAlteracoes.Tabela;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -17,19 +28,40 @@ public class CursoController {
     @Autowired
     private CursoService cursoService;
 
-    // GET /cursos - Listar todos os cursos
+    @Autowired
+    private RegistroAlteracoes registroAlteracoes;
+
+    // GET /cursos - Listar todos os cursos (If-None-Match/If-Modified-Since: 304 sem consultar o banco)
     @GetMapping
-    public ResponseEntity<List<Curso>> listarCursos() {
-        List<Curso> cursos = cursoService.listarCursos();
-        return ResponseEntity.ok(cursos);
+    public ResponseEntity<List<CursoResumoDTO>> listarCursos(WebRequest requisicao) {
+        RegistroAlteracoes.Versao versao = registroAlteracoes.versao(Tabela.CURSOS);
+        if (requisicao.checkNotModified(versao.etag(), versao.ultimaAlteracao())) {
+            return null;
+        }
+        List<CursoResumoDTO> cursos = cursoService.listarResumos();
+        return Precondicoes.listagem(versao, cursos);
+    }
+
+    // GET /cursos/search?q= - Buscar cursos pelo nome, em ordem de relevância
+    @GetMapping("/search")
+    public ResponseEntity<Pagina<CursoResumoDTO>> buscarCursos(@RequestParam String q,
+                                                               @RequestParam(required = false) Long cursor,
+                                                               @RequestParam(required = false) Integer limite) {
+        try {
+            return ResponseEntity.ok(cursoService.buscarCursos(q, cursor, limite));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     // POST /cursos - Criar um novo curso
     @PostMapping
-    public ResponseEntity<Curso> criarCurso(@RequestBody Curso curso) {
+    public ResponseEntity<CursoResumoDTO> criarCurso(@RequestBody Curso curso) {
         try {
             Curso cursoSalvo = cursoService.salvarCurso(curso);
-            return ResponseEntity.status(HttpStatus.CREATED).body(cursoSalvo);
+            return ResponseEntity.status(HttpStatus.CREATED).body(CursoResumoDTO.de(cursoSalvo));
+        } catch (CursoDuplicadoException | DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -78,34 +110,52 @@ public class CursoController {
         }
     }
 
+    // GET /cursos/catalogo/estatisticas - Acertos e falhas do catálogo de cursos em memória
+    @GetMapping("/catalogo/estatisticas")
+    public ResponseEntity<EstatisticasCatalogoDTO> estatisticasCatalogo() {
+        return ResponseEntity.ok(cursoService.estatisticasCatalogo());
+    }
+
     // GET /cursos/{id} - Consultar um curso por ID
     @GetMapping("/{id}")
-    public ResponseEntity<Curso> consultarCurso(@PathVariable Long id) {
+    public ResponseEntity<CursoResumoDTO> consultarCurso(@PathVariable Long id) {
         try {
-            Curso curso = cursoService.consultarCurso(id);
-            return ResponseEntity.ok(curso);
+            CursoResumoDTO curso = cursoService.consultarResumo(id);
+            return ResponseEntity.ok().eTag(Precondicoes.etag(curso.versao())).body(curso);
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
-    // PUT /cursos/{id} - Atualizar um curso
+    // PUT /cursos/{id} - Atualizar um curso (If-Match opcional: 412 se a versão não for a atual)
     @PutMapping("/{id}")
-    public ResponseEntity<Curso> atualizarCurso(@PathVariable Long id, @RequestBody Curso dadosCurso) {
+    public ResponseEntity<CursoResumoDTO> atualizarCurso(@PathVariable Long id, @RequestBody Curso dadosCurso,
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            Curso cursoAtualizado = cursoService.editarCurso(id, dadosCurso);
-            return ResponseEntity.ok(cursoAtualizado);
+            Curso cursoAtualizado = cursoService.editarCurso(id, dadosCurso, Precondicoes.versaoEsperada(ifMatch));
+            return ResponseEntity.ok()
+                .eTag(Precondicoes.etag(cursoAtualizado.getVersao()))
+                .body(CursoResumoDTO.de(cursoAtualizado));
+        } catch (VersaoDesatualizadaException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (OptimisticLockingFailureException | CursoDuplicadoException | DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
-    // DELETE /cursos/{id} - Excluir um curso
+    // DELETE /cursos/{id} - Excluir um curso (If-Match opcional)
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> excluirCurso(@PathVariable Long id) {
+    public ResponseEntity<Void> excluirCurso(@PathVariable Long id,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            cursoService.excluirCurso(id);
+            cursoService.excluirCurso(id, Precondicoes.versaoEsperada(ifMatch));
             return ResponseEntity.noContent().build();
+        } catch (VersaoDesatualizadaException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -0,0 +1,82 @@
+package com.br.controller;
+
+import com.br.service.ExportacaoService;
+import com.br.service.ExportacaoService.Formato;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/exportacao")
+@CrossOrigin(origins = "*")
+public class ExportacaoController {
+
+    // Função de exportação do serviço (alunos, turmas ou matrículas)
+    private interface Exportador {
+        void exportar(OutputStream saida, Formato formato) throws IOException;
+    }
+
+    @Autowired
+    private ExportacaoService exportacaoService;
+
+    // GET /exportacao/alunos?formato=csv|ndjson&gzip=true - Exportar todos os alunos
+    @GetMapping("/alunos")
+    public ResponseEntity<StreamingResponseBody> exportarAlunos(@RequestParam(defaultValue = "csv") String formato,
+                                                                @RequestParam(defaultValue = "false") boolean gzip) {
+        return exportar("alunos", formato, gzip, exportacaoService::exportarAlunos);
+    }
+
+    // GET /exportacao/turmas?formato=csv|ndjson&gzip=true - Exportar todas as turmas
+    @GetMapping("/turmas")
+    public ResponseEntity<StreamingResponseBody> exportarTurmas(@RequestParam(defaultValue = "csv") String formato,
+                                                                @RequestParam(defaultValue = "false") boolean gzip) {
+        return exportar("turmas", formato, gzip, exportacaoService::exportarTurmas);
+    }
+
+    // GET /exportacao/matriculas?formato=csv|ndjson&gzip=true - Exportar todos os pares aluno x curso
+    @GetMapping("/matriculas")
+    public ResponseEntity<StreamingResponseBody> exportarMatriculas(@RequestParam(defaultValue = "csv") String formato,
+                                                                    @RequestParam(defaultValue = "false") boolean gzip) {
+        return exportar("matriculas", formato, gzip, exportacaoService::exportarMatriculas);
+    }
+
+    private ResponseEntity<StreamingResponseBody> exportar(String nome, String formato, boolean gzip,
+                                                           Exportador exportador) {
+        Formato tipo;
+        try {
+            tipo = Formato.valueOf(formato.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        StreamingResponseBody corpo = saida -> {
+            if (gzip) {
+                // syncFlush: o cabeçalho chega ao cliente sem esperar o fim da compressão
+                try (GZIPOutputStream compactado = new GZIPOutputStream(saida, 64 * 1024, true)) {
+                    exportador.exportar(compactado, tipo);
+                }
+            } else {
+                exportador.exportar(saida, tipo);
+            }
+        };
+
+        String extensao = tipo == Formato.CSV ? ".csv" : ".ndjson";
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
+            .contentType(tipo == Formato.CSV ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                                             : MediaType.parseMediaType("application/x-ndjson"))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + nome + extensao + "\"");
+        if (gzip) {
+            resposta.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return resposta.body(corpo);
+    }
+}
@@ -0,0 +1,38 @@
+package com.br.controller;
+
+import com.br.dto.MatriculaLoteDTO;
+import com.br.dto.ResultadoMatriculaDTO;
+import com.br.service.MatriculaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/matriculas")
+@CrossOrigin(origins = "*")
+public class MatriculaController {
+
+    @Autowired
+    private MatriculaService matriculaService;
+
+    // Endpoint para matricular alunos (ou turmas inteiras) em cursos; matrículas já existentes são ignoradas
+    // (400 sem cursos ou sem alunos/turmas, 404 se algum aluno, turma ou curso não existir)
+    @PostMapping
+    public ResponseEntity<ResultadoMatriculaDTO> matricular(@RequestBody MatriculaLoteDTO lote) {
+        try {
+            return ResponseEntity.ok(matriculaService.matricular(lote));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Endpoint para cancelar as matrículas dos alunos (ou das turmas) nos cursos, com o mesmo corpo
+    @DeleteMapping
+    public ResponseEntity<ResultadoMatriculaDTO> cancelar(@RequestBody MatriculaLoteDTO lote) {
+        try {
+            return ResponseEntity.ok(matriculaService.cancelar(lote));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
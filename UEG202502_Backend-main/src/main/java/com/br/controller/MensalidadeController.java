@@ -0,0 +1,46 @@
+package com.br.controller;
+
+import com.br.dto.TotalMensalidadeDTO;
+import com.br.service.ResumoMensalidadeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Relatórios financeiros: quantidade de alunos e soma das mensalidades por grupo, lidas dos resumos
+ * mantidos a cada gravação de aluno (ver ResumoMensalidadeService).
+ */
+@RestController
+@RequestMapping("/mensalidades")
+@CrossOrigin(origins = "*")
+public class MensalidadeController {
+
+    @Autowired
+    private ResumoMensalidadeService resumoMensalidadeService;
+
+    // Endpoint para os totais por turma (chave nula = alunos sem turma)
+    @GetMapping("/por-turma")
+    public ResponseEntity<List<TotalMensalidadeDTO<Long>>> totaisPorTurma() {
+        return ResponseEntity.ok(resumoMensalidadeService.totaisPorTurma());
+    }
+
+    // Endpoint para os totais por curso; um aluno matriculado em vários cursos conta em cada um
+    @GetMapping("/por-curso")
+    public ResponseEntity<List<TotalMensalidadeDTO<Long>>> totaisPorCurso() {
+        return ResponseEntity.ok(resumoMensalidadeService.totaisPorCurso());
+    }
+
+    // Endpoint para os totais por semestre (chave nula = semestre não informado)
+    @GetMapping("/por-semestre")
+    public ResponseEntity<List<TotalMensalidadeDTO<Integer>>> totaisPorSemestre() {
+        return ResponseEntity.ok(resumoMensalidadeService.totaisPorSemestre());
+    }
+
+    // Endpoint para os totais de bolsistas e não bolsistas
+    @GetMapping("/por-bolsista")
+    public ResponseEntity<List<TotalMensalidadeDTO<Boolean>>> totaisPorBolsista() {
+        return ResponseEntity.ok(resumoMensalidadeService.totaisPorBolsista());
+    }
+}
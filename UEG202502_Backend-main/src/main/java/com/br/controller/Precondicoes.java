@@ -0,0 +1,45 @@
+package com.br.controller;
+
+import com.br.exception.VersaoDesatualizadaException;
+import com.br.service.RegistroAlteracoes;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Leitura do cabeçalho If-Match. O ETag das respostas é a versão (@Version) do registro;
+ * nas listagens, o contador de alterações da tabela (RegistroAlteracoes).
+ */
+final class Precondicoes {
+
+    private Precondicoes() {
+    }
+
+    // Versão exigida pelo If-Match; null quando ausente ou "*" (gravação incondicional)
+    static Long versaoEsperada(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String valor = ifMatch.trim();
+        if (valor.startsWith("W/")) {
+            valor = valor.substring(2);
+        }
+        try {
+            return Long.valueOf(valor.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new VersaoDesatualizadaException("If-Match não corresponde a nenhuma versão: " + ifMatch);
+        }
+    }
+
+    static String etag(Long versao) {
+        return "\"" + versao + "\"";
+    }
+
+    // Resposta 200 de uma listagem; no-cache faz o navegador revalidar (If-None-Match) a cada consulta
+    static <T> ResponseEntity<T> listagem(RegistroAlteracoes.Versao versao, T corpo) {
+        return ResponseEntity.ok()
+            .eTag(versao.etag())
+            .lastModified(versao.ultimaAlteracao())
+            .cacheControl(CacheControl.noCache())
+            .body(corpo);
+    }
+}
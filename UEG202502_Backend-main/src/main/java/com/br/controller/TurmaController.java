@@ -1,10 +1,20 @@
 package com.br.controller;
 
+import com.br.dto.AlteracaoCursosTurmaDTO;
+import com.br.dto.PosicaoEsperaDTO;
+import com.br.dto.TurmaResumoDTO;
 import com.br.model.Turma;
+import com.br.service.ListaEsperaService;
+import com.br.service.RegistroAlteracoes;
+import com.br.service.RegistroAlteracoes.Tabela;
 import com.br.service.TurmaService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -16,37 +26,84 @@ public class TurmaController {
     @Autowired
     private TurmaService turmaService;
 
-    // Endpoint para listar todas as turmas
+    @Autowired
+    private ListaEsperaService listaEsperaService;
+
+    @Autowired
+    private RegistroAlteracoes registroAlteracoes;
+
+    // Endpoint para listar todas as turmas (If-None-Match/If-Modified-Since: 304 sem consultar o banco)
     @GetMapping
-    public List<Turma> listarTurmas() {
-        return turmaService.listarTurmas();
+    public ResponseEntity<List<TurmaResumoDTO>> listarTurmas(WebRequest requisicao) {
+        RegistroAlteracoes.Versao versao = registroAlteracoes.versao(Tabela.TURMAS);
+        if (requisicao.checkNotModified(versao.etag(), versao.ultimaAlteracao())) {
+            return null;
+        }
+        return Precondicoes.listagem(versao, turmaService.listarResumos());
     }
 
     // Endpoint para salvar uma nova turma
     @PostMapping
-    public ResponseEntity<Turma> salvarTurma(@RequestBody Turma turma) {
+    public ResponseEntity<TurmaResumoDTO> salvarTurma(@RequestBody Turma turma) {
         Turma turmaSalva = turmaService.salvarTurma(turma);
-        return ResponseEntity.ok(turmaSalva);
+        return ResponseEntity.ok(turmaService.resumir(turmaSalva));
     }
 
-    // Endpoint para editar uma turma existente
+    // Endpoint para editar uma turma existente (If-Match opcional: 412 se a versão não for a atual)
     @PutMapping("/{id}")
-    public ResponseEntity<Turma> editarTurma(@PathVariable Long id, @RequestBody Turma dadosTurma) {
-        Turma turmaAtualizada = turmaService.editarTurma(id, dadosTurma);
-        return ResponseEntity.ok(turmaAtualizada);
+    public ResponseEntity<TurmaResumoDTO> editarTurma(@PathVariable Long id, @RequestBody Turma dadosTurma,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Turma turmaAtualizada = turmaService.editarTurma(id, dadosTurma, Precondicoes.versaoEsperada(ifMatch));
+        return ResponseEntity.ok()
+            .eTag(Precondicoes.etag(turmaAtualizada.getVersao()))
+            .body(turmaService.resumir(turmaAtualizada));
     }
 
-    // Endpoint para excluir uma turma
+    // Endpoint para excluir uma turma (If-Match opcional)
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> excluirTurma(@PathVariable Long id) {
-        turmaService.excluirTurma(id);
+    public ResponseEntity<Void> excluirTurma(@PathVariable Long id,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        turmaService.excluirTurma(id, Precondicoes.versaoEsperada(ifMatch));
         return ResponseEntity.noContent().build();
     }
 
+    // Endpoint para vincular e desvincular cursos de uma ou várias turmas de uma vez, em uma transação
+    // (400 sem a turma, 404 se alguma turma ou curso não existir, 409 se outra requisição vincular o mesmo par)
+    @PatchMapping("/cursos")
+    public ResponseEntity<List<TurmaResumoDTO>> alterarCursos(@RequestBody List<AlteracaoCursosTurmaDTO> alteracoes) {
+        try {
+            return ResponseEntity.ok(turmaService.alterarCursos(alteracoes));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
     // Endpoint para consultar uma turma por ID
     @GetMapping("/{id}")
-    public ResponseEntity<Turma> consultarTurma(@PathVariable Long id) {
-        Turma turma = turmaService.consultarTurma(id);
-        return ResponseEntity.ok(turma);
+    public ResponseEntity<TurmaResumoDTO> consultarTurma(@PathVariable Long id) {
+        TurmaResumoDTO turma = turmaService.consultarResumo(id);
+        return ResponseEntity.ok().eTag(Precondicoes.etag(turma.versao())).body(turma);
+    }
+
+    // Endpoint para listar a lista de espera da turma, na ordem de promoção
+    @GetMapping("/{id}/lista-espera")
+    public List<PosicaoEsperaDTO> listarEspera(@PathVariable Long id) {
+        return listaEsperaService.listarFila(id);
+    }
+
+    // Endpoint para inscrever um aluno na lista de espera (promovido automaticamente quando abrir vaga)
+    @PostMapping("/{id}/lista-espera/{codigoAluno}")
+    public ResponseEntity<PosicaoEsperaDTO> inscreverEspera(@PathVariable Long id, @PathVariable Long codigoAluno) {
+        PosicaoEsperaDTO posicao = listaEsperaService.inscrever(id, codigoAluno);
+        return ResponseEntity.status(HttpStatus.CREATED).body(posicao);
+    }
+
+    // Endpoint para retirar um aluno da lista de espera
+    @DeleteMapping("/{id}/lista-espera/{codigoAluno}")
+    public ResponseEntity<Void> cancelarEspera(@PathVariable Long id, @PathVariable Long codigoAluno) {
+        listaEsperaService.cancelar(id, codigoAluno);
+        return ResponseEntity.noContent().build();
     }
 }
@@ -0,0 +1,10 @@
+package com.br.dto;
+
+import java.util.List;
+
+/**
+ * Cursos a vincular e a desvincular de uma turma (PATCH /turmas/cursos). As listas são tratadas
+ * como conjuntos: vincular um curso que a turma já tem, ou desvincular um que ela não tem, não muda nada.
+ */
+public record AlteracaoCursosTurmaDTO(Long idTurma, List<Long> adicionar, List<Long> remover) {
+}
@@ -0,0 +1,22 @@
+package com.br.dto;
+
+import com.br.model.Aluno;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Dados de um aluno expostos pela API REST. A versão também vai no cabeçalho ETag.
+ */
+public record AlunoResumoDTO(Long codigo, String nome, Date dataMatricula, Double mensalidade,
+                             Integer semestre, Boolean bolsista, TurmaReferenciaDTO turma,
+                             List<CursoResumoDTO> cursos, Long versao) {
+
+    public static AlunoResumoDTO de(Aluno aluno) {
+        List<CursoResumoDTO> cursos = aluno.getCursos() == null ? List.of()
+                : aluno.getCursos().stream().map(CursoResumoDTO::vinculado).toList();
+        return new AlunoResumoDTO(aluno.getCodigo(), aluno.getNome(), aluno.getDataMatricula(),
+                aluno.getMensalidade(), aluno.getSemestre(), aluno.getBolsista(),
+                TurmaReferenciaDTO.de(aluno.getTurma()), cursos, aluno.getVersao());
+    }
+}
@@ -0,0 +1,41 @@
+package com.br.dto;
+
+import com.br.model.Curso;
+import com.br.repository.projecao.CursoVinculadoProjecao;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dados de um curso expostos pela API REST. A versão só é preenchida quando o curso é o
+ * recurso consultado (/cursos); nos cursos listados dentro de alunos e turmas ela é omitida.
+ */
+public record CursoResumoDTO(Long id, String nome, int cargaHoraria,
+                             @JsonInclude(JsonInclude.Include.NON_NULL) Long versao) {
+
+    public CursoResumoDTO(Long id, String nome, int cargaHoraria) {
+        this(id, nome, cargaHoraria, null);
+    }
+
+    public static CursoResumoDTO de(Curso curso) {
+        return new CursoResumoDTO(curso.getId(), curso.getNome(), curso.getCargaHoraria(), curso.getVersao());
+    }
+
+    // Curso vinculado a um aluno ou turma (sem versão)
+    public static CursoResumoDTO vinculado(Curso curso) {
+        return new CursoResumoDTO(curso.getId(), curso.getNome(), curso.getCargaHoraria());
+    }
+
+    // Agrupa os cursos lidos da tabela de junção pelo aluno/turma dono
+    public static Map<Long, List<CursoResumoDTO>> agruparPorDono(List<CursoVinculadoProjecao> vinculos) {
+        Map<Long, List<CursoResumoDTO>> cursosPorDono = new HashMap<>();
+        for (CursoVinculadoProjecao vinculo : vinculos) {
+            cursosPorDono.computeIfAbsent(vinculo.getIdDono(), id -> new ArrayList<>())
+                    .add(new CursoResumoDTO(vinculo.getId(), vinculo.getNome(), vinculo.getCargaHoraria()));
+        }
+        return cursosPorDono;
+    }
+}
@@ -0,0 +1,7 @@
+package com.br.dto;
+
+/**
+ * Estatísticas de uso do catálogo de cursos em memória.
+ */
+public record EstatisticasCatalogoDTO(long acertos, long falhas, long recargas, int cursosEmCache) {
+}
@@ -0,0 +1,10 @@
+package com.br.dto;
+
+import java.util.List;
+
+/**
+ * Matrículas em lote (/matriculas): todos os alunos informados, mais todos os alunos das turmas
+ * informadas, em cada um dos cursos.
+ */
+public record MatriculaLoteDTO(List<Long> alunos, List<Long> turmas, List<Long> cursos) {
+}
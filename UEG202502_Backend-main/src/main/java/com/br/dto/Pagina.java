@@ -0,0 +1,11 @@
+package com.br.dto;
+
+import java.util.List;
+
+/**
+ * Página de resultados paginada por cursor (keyset).
+ * O cliente envia o "proximoCursor" recebido como parâmetro "cursor" para obter a página seguinte.
+ * Quando "proximoCursor" é nulo não há mais registros.
+ */
+public record Pagina<T>(List<T> itens, Long proximoCursor, int limite) {
+}
@@ -0,0 +1,9 @@
+package com.br.dto;
+
+import java.util.Date;
+
+/**
+ * Um aluno na lista de espera de uma turma e a sua posição na fila (a partir de 1).
+ */
+public record PosicaoEsperaDTO(Long codigoAluno, String nomeAluno, long posicao, Date dataInscricao) {
+}
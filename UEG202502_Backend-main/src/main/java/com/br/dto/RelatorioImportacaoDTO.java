@@ -0,0 +1,15 @@
+package com.br.dto;
+
+import java.util.List;
+
+/**
+ * Relatório da importação em lote de alunos, com o resultado de cada linha.
+ */
+public record RelatorioImportacaoDTO(int total, int importados, int rejeitados,
+                                     List<ResultadoImportacaoDTO> linhas) {
+
+    public static RelatorioImportacaoDTO de(List<ResultadoImportacaoDTO> linhas) {
+        int importados = (int) linhas.stream().filter(ResultadoImportacaoDTO::sucesso).count();
+        return new RelatorioImportacaoDTO(linhas.size(), importados, linhas.size() - importados, linhas);
+    }
+}
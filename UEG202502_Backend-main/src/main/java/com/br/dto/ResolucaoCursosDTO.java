@@ -0,0 +1,12 @@
+package com.br.dto;
+
+import com.br.model.Curso;
+
+import java.util.List;
+
+/**
+ * Resultado da resolução de uma lista de cursos recebida do frontend:
+ * os cursos encontrados (na ordem recebida) e os nomes que não existem no banco.
+ */
+public record ResolucaoCursosDTO(List<Curso> cursos, List<String> nomesNaoEncontrados) {
+}
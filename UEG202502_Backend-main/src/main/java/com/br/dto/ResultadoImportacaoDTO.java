@@ -0,0 +1,16 @@
+package com.br.dto;
+
+/**
+ * Resultado da importação de uma linha (registro) do arquivo enviado.
+ * "linha" começa em 1 e conta apenas registros (o cabeçalho do CSV não conta).
+ */
+public record ResultadoImportacaoDTO(int linha, boolean sucesso, Long codigo, String erro) {
+
+    public static ResultadoImportacaoDTO importado(int linha, Long codigo) {
+        return new ResultadoImportacaoDTO(linha, true, codigo, null);
+    }
+
+    public static ResultadoImportacaoDTO rejeitado(int linha, String erro) {
+        return new ResultadoImportacaoDTO(linha, false, null, erro);
+    }
+}
@@ -0,0 +1,8 @@
+package com.br.dto;
+
+/**
+ * Quantidade de matrículas (pares aluno x curso) incluídas ou removidas por uma operação em lote.
+ * Pares que já existiam (na inclusão) ou que não existiam (na remoção) não contam.
+ */
+public record ResultadoMatriculaDTO(int matriculas) {
+}
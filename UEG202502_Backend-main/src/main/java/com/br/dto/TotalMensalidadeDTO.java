@@ -0,0 +1,11 @@
+package com.br.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Total das mensalidades de um grupo de alunos (/mensalidades): "chave" é o ID da turma ou do curso,
+ * o semestre ou o indicador de bolsista, conforme o agrupamento; nula para alunos sem turma ou
+ * sem semestre informado.
+ */
+public record TotalMensalidadeDTO<T>(T chave, long quantidadeAlunos, BigDecimal totalMensalidade) {
+}
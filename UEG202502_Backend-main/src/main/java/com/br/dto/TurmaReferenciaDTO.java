@@ -0,0 +1,16 @@
+package com.br.dto;
+
+import com.br.model.Turma;
+
+import java.util.Date;
+
+/**
+ * Turma resumida dentro da resposta de um aluno (sem cursos nem alunos, evitando referência circular).
+ */
+public record TurmaReferenciaDTO(Long id, String turno, Date dataInicio, Date dataFim) {
+
+    public static TurmaReferenciaDTO de(Turma turma) {
+        return turma == null ? null
+                : new TurmaReferenciaDTO(turma.getId(), turma.getTurno(), turma.getDataInicio(), turma.getDataFim());
+    }
+}
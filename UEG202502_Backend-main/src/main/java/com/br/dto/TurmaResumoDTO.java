@@ -0,0 +1,22 @@
+package com.br.dto;
+
+import com.br.model.Turma;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Dados de uma turma expostos pela API REST: cursos resumidos, a quantidade de alunos e a
+ * capacidade (nula = sem limite), sem carregar a coleção de alunos.
+ */
+public record TurmaResumoDTO(Long id, String turno, Date dataInicio, Date dataFim,
+                             List<CursoResumoDTO> cursos, long quantidadeAlunos, Integer capacidade,
+                             Long versao) {
+
+    public static TurmaResumoDTO de(Turma turma, long quantidadeAlunos) {
+        List<CursoResumoDTO> cursos = turma.getCursos() == null ? List.of()
+                : turma.getCursos().stream().map(CursoResumoDTO::vinculado).toList();
+        return new TurmaResumoDTO(turma.getId(), turma.getTurno(), turma.getDataInicio(), turma.getDataFim(),
+                cursos, quantidadeAlunos, turma.getCapacidade(), turma.getVersao());
+    }
+}
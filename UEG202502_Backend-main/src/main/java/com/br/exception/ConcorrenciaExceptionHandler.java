@@ -0,0 +1,20 @@
+package com.br.exception;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * O registro foi alterado por outra requisição entre a leitura e a gravação
+ * (@Version não confere no UPDATE/DELETE): responde 409 em vez de 500.
+ */
+@RestControllerAdvice
+public class ConcorrenciaExceptionHandler {
+
+	@ExceptionHandler(OptimisticLockingFailureException.class)
+	public ResponseEntity<Void> tratarConflito(OptimisticLockingFailureException e) {
+		return ResponseEntity.status(HttpStatus.CONFLICT).build();
+	}
+}
@@ -0,0 +1,15 @@
+package com.br.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Lançada quando já existe outro curso com o mesmo nome normalizado (sem acentos e maiúsculas)
+@ResponseStatus(value = HttpStatus.CONFLICT)
+public class CursoDuplicadoException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public CursoDuplicadoException(String msg) {
+		super(msg);
+	}
+}
@@ -0,0 +1,15 @@
+package com.br.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Lançada quando a turma não tem mais vagas (quantidade de alunos já atingiu a capacidade)
+@ResponseStatus(value = HttpStatus.CONFLICT)
+public class TurmaLotadaException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public TurmaLotadaException(String msg) {
+		super(msg);
+	}
+}
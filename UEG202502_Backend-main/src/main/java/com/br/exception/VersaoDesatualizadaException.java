@@ -0,0 +1,15 @@
+package com.br.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Lançada quando a versão informada no If-Match não é a versão atual do registro
+@ResponseStatus(value = HttpStatus.PRECONDITION_FAILED)
+public class VersaoDesatualizadaException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public VersaoDesatualizadaException(String msg) {
+		super(msg);
+	}
+}
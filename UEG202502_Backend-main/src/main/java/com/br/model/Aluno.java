@@ -1,15 +1,17 @@
 package com.br.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import java.util.Date;
 import java.util.List;
 
 @Entity
-@Table(name = "aluno")
+@Table(name = "aluno", indexes = @Index(name = "idx_aluno_turma", columnList = "id_turma, codigo"))
 public class Aluno {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "aluno_seq")
+    @SequenceGenerator(name = "aluno_seq", sequenceName = "aluno_seq", allocationSize = 50)
     private Long codigo;
 
     @Column(name = "nome")
@@ -23,7 +25,10 @@ public class Aluno {
     @JoinTable(
         name = "matricula", 
         joinColumns = @JoinColumn(name = "id_aluno"),  
-        inverseJoinColumns = @JoinColumn(name = "id_curso") 
+        inverseJoinColumns = @JoinColumn(name = "id_curso"),
+        // No banco o par é a chave primária pk_matricula (migração V11)
+        uniqueConstraints = @UniqueConstraint(name = "pk_matricula", columnNames = {"id_aluno", "id_curso"}),
+        indexes = @Index(name = "idx_matricula_curso", columnList = "id_curso")
     )
     private List<Curso> cursos; 
     @Column(name = "data_matricula")
@@ -38,6 +43,11 @@ public class Aluno {
     @Column(name = "bolsista")
     private Boolean bolsista;  
 
+    @Version
+    @Column(name = "versao", nullable = false)
+    @JsonIgnore  // Controlada pelo Hibernate; o cliente informa a versão pelo cabeçalho If-Match
+    private Long versao; // Versão para o controle de concorrência otimista (ETag)
+
     // Getters e Setters
     public Long getCodigo() {
         return codigo;
@@ -102,4 +112,12 @@ public class Aluno {
     public void setBolsista(Boolean bolsista) {  
         this.bolsista = bolsista;
     }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
 }
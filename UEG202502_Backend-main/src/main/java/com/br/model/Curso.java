@@ -1,21 +1,39 @@
 package com.br.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
-@Table(name = "curso")
+@Table(name = "curso",
+       uniqueConstraints = @UniqueConstraint(name = "uk_curso_nome_normalizado", columnNames = "nome_normalizado"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "curso")  // Cache de segundo nível (cache-segundo-nivel.conf)
 public class Curso {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "curso_seq")
+    @SequenceGenerator(name = "curso_seq", sequenceName = "curso_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "nome")
     private String nome;
 
+    // Nome sem acentos, em minúsculas e com espaços simples, atualizado junto com o nome (setNome);
+    // é a chave única usada para encontrar o curso pelo nome
+    @Column(name = "nome_normalizado")
+    @JsonIgnore
+    private String nomeNormalizado;
+
     @Column(name = "carga_horaria")
     private int cargaHoraria; // Carga horária do curso, em horas
 
+    @Version
+    @Column(name = "versao", nullable = false)
+    @JsonIgnore
+    private Long versao; // Incrementada a cada alteração do curso (ETag)
+
     // Getters e Setters
     public Long getId() {
         return id;
@@ -31,6 +49,11 @@ public class Curso {
 
     public void setNome(String nome) {
         this.nome = nome;
+        this.nomeNormalizado = normalizarNome(nome);
+    }
+
+    public String getNomeNormalizado() {
+        return nomeNormalizado;
     }
 
     public int getCargaHoraria() {
@@ -40,4 +63,32 @@ public class Curso {
     public void setCargaHoraria(int cargaHoraria) {
         this.cargaHoraria = cargaHoraria;
     }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
+    // "  Introdução  à IA " e "introducao a ia" têm o mesmo nome normalizado (mesmas regras da busca)
+    public static String normalizarNome(String nome) {
+        return NormalizacaoNome.normalizar(nome);
+    }
+
+    // Igualdade pelo ID: cursos ainda não salvos só são iguais a si mesmos
+    @Override
+    public boolean equals(Object outro) {
+        if (this == outro) {
+            return true;
+        }
+        return outro instanceof Curso curso && id != null && id.equals(curso.getId());
+    }
+
+    // Constante para não mudar quando o curso recebe o ID ao ser salvo
+    @Override
+    public int hashCode() {
+        return Curso.class.hashCode();
+    }
 }
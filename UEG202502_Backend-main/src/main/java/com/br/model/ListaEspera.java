@@ -0,0 +1,75 @@
+package com.br.model;
+
+import jakarta.persistence.*;
+import java.util.Date;
+
+/**
+ * Inscrição de um aluno na lista de espera de uma turma lotada.
+ * A ordem da fila é a do ID (crescente), lida pelo índice (id_turma, id).
+ */
+@Entity
+@Table(name = "lista_espera",
+       uniqueConstraints = @UniqueConstraint(name = "uk_lista_espera_turma_aluno", columnNames = {"id_turma", "id_aluno"}),
+       indexes = {
+           @Index(name = "idx_lista_espera_turma", columnList = "id_turma, id"),
+           @Index(name = "idx_lista_espera_aluno", columnList = "id_aluno")
+       })
+public class ListaEspera {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lista_espera_seq")
+    @SequenceGenerator(name = "lista_espera_seq", sequenceName = "lista_espera_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "id_turma", nullable = false, foreignKey = @ForeignKey(name = "fk_lista_espera_turma"))
+    private Turma turma;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "id_aluno", nullable = false, foreignKey = @ForeignKey(name = "fk_lista_espera_aluno"))
+    private Aluno aluno;
+
+    @Column(name = "data_inscricao", nullable = false)
+    private Date dataInscricao;
+
+    public ListaEspera() {}
+
+    public ListaEspera(Turma turma, Aluno aluno) {
+        this.turma = turma;
+        this.aluno = aluno;
+        this.dataInscricao = new Date();
+    }
+
+    // Getters e Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Turma getTurma() {
+        return turma;
+    }
+
+    public void setTurma(Turma turma) {
+        this.turma = turma;
+    }
+
+    public Aluno getAluno() {
+        return aluno;
+    }
+
+    public void setAluno(Aluno aluno) {
+        this.aluno = aluno;
+    }
+
+    public Date getDataInscricao() {
+        return dataInscricao;
+    }
+
+    public void setDataInscricao(Date dataInscricao) {
+        this.dataInscricao = dataInscricao;
+    }
+}
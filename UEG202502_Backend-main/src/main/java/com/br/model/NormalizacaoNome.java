@@ -0,0 +1,48 @@
+package com.br.model;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Normalização de nomes da aplicação: usada pelo termo da busca (TermoBusca), pelo nome normalizado
+ * único dos cursos (Curso.normalizarNome) e, nos testes com H2, no lugar da função nome_busca.
+ *
+ * É uma aproximação da função nome_busca do PostgreSQL (V13__nome_busca_espacos.sql): tira os acentos,
+ * translitera as letras e ligaduras latinas que o dicionário unaccent converte em outras letras
+ * (ß, æ, ø, ł, ﬁ, ...), passa para minúsculas, reduz espaços seguidos a um e tira os das pontas.
+ * O unaccent tem mais regras do que a tabela abaixo; MigracoesPostgresTests compara as duas
+ * para os caracteres cobertos aqui.
+ */
+public final class NormalizacaoNome {
+
+    // Regras do unaccent para letras sem acento separável, já em minúsculas
+    private static final Map<Character, String> TRANSLITERACOES = Map.ofEntries(
+        Map.entry('ß', "ss"), Map.entry('æ', "ae"), Map.entry('œ', "oe"), Map.entry('ø', "o"),
+        Map.entry('ł', "l"), Map.entry('đ', "d"), Map.entry('ð', "d"), Map.entry('þ', "th"),
+        Map.entry('ħ', "h"), Map.entry('ı', "i"), Map.entry('ŀ', "l"), Map.entry('ŧ', "t"),
+        Map.entry('ŋ', "n"), Map.entry('ĳ', "ij"), Map.entry('ﬀ', "ff"), Map.entry('ﬁ', "fi"),
+        Map.entry('ﬂ', "fl"), Map.entry('ﬃ', "ffi"), Map.entry('ﬄ', "ffl"));
+
+    private NormalizacaoNome() {
+    }
+
+    // "  Straße  Ølund " e "strasse olund" têm a mesma forma normalizada
+    public static String normalizar(String nome) {
+        if (nome == null) {
+            return null;
+        }
+        String semAcento = Normalizer.normalize(nome.toLowerCase(Locale.ROOT), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "");
+        StringBuilder normalizado = new StringBuilder(semAcento.length());
+        for (char letra : semAcento.toCharArray()) {
+            String transliterada = TRANSLITERACOES.get(letra);
+            if (transliterada == null) {
+                normalizado.append(letra);
+            } else {
+                normalizado.append(transliterada);
+            }
+        }
+        return normalizado.toString().replaceAll("\\s+", " ").trim();
+    }
+}
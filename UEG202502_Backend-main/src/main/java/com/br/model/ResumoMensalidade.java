@@ -0,0 +1,81 @@
+package com.br.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Quantidade de alunos e soma das mensalidades por turma, semestre e bolsista, mantidas pelo
+ * ResumoMensalidadeService a cada gravação de aluno. Os relatórios financeiros agrupam estas
+ * linhas em vez de percorrer a tabela aluno.
+ *
+ * Colunas da chave sem valor no aluno são gravadas como 0 (sem turma, semestre não informado);
+ * bolsista nulo conta como não bolsista.
+ */
+@Entity
+@Table(name = "resumo_mensalidade")
+@IdClass(ResumoMensalidade.Chave.class)
+public class ResumoMensalidade {
+
+    @Id
+    @Column(name = "id_turma")
+    private long idTurma;
+
+    @Id
+    @Column(name = "semestre")
+    private int semestre;
+
+    @Id
+    @Column(name = "bolsista")
+    private boolean bolsista;
+
+    @Column(name = "quantidade_alunos", nullable = false)
+    private long quantidadeAlunos;
+
+    @Column(name = "total_mensalidade", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalMensalidade;
+
+    public long getIdTurma() {
+        return idTurma;
+    }
+
+    public int getSemestre() {
+        return semestre;
+    }
+
+    public boolean isBolsista() {
+        return bolsista;
+    }
+
+    public long getQuantidadeAlunos() {
+        return quantidadeAlunos;
+    }
+
+    public BigDecimal getTotalMensalidade() {
+        return totalMensalidade;
+    }
+
+    public static class Chave implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private long idTurma;
+
+        private int semestre;
+
+        private boolean bolsista;
+
+        @Override
+        public boolean equals(Object outro) {
+            return outro instanceof Chave chave
+                && idTurma == chave.idTurma && semestre == chave.semestre && bolsista == chave.bolsista;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(idTurma, semestre, bolsista);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.br.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Quantidade de alunos matriculados e soma das suas mensalidades por curso (tabela matricula).
+ * Um aluno matriculado em dois cursos conta nos dois. Mantida pelo ResumoMensalidadeService.
+ */
+@Entity
+@Table(name = "resumo_mensalidade_curso")
+public class ResumoMensalidadeCurso {
+
+    @Id
+    @Column(name = "id_curso")
+    private Long idCurso;
+
+    @Column(name = "quantidade_alunos", nullable = false)
+    private long quantidadeAlunos;
+
+    @Column(name = "total_mensalidade", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalMensalidade;
+
+    public Long getIdCurso() {
+        return idCurso;
+    }
+
+    public long getQuantidadeAlunos() {
+        return quantidadeAlunos;
+    }
+
+    public BigDecimal getTotalMensalidade() {
+        return totalMensalidade;
+    }
+}
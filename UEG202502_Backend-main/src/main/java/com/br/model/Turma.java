@@ -7,10 +7,13 @@ import java.util.List;
 
 @Entity
 @Table(name = "turma")
+// Fora do cache de segundo nível: cada gravação de aluno ajusta o contador da turma com um UPDATE em lote
+// (TurmaRepository), que esvaziaria a região inteira da Turma e da coleção Turma.cursos
 public class Turma {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "turma_seq")
+    @SequenceGenerator(name = "turma_seq", sequenceName = "turma_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "turno")
@@ -20,7 +23,10 @@ public class Turma {
     @JoinTable(
         name = "turma_curso",  // Tabela intermediária para Turma e Curso
         joinColumns = @JoinColumn(name = "id_turma"),  // FK para Turma
-        inverseJoinColumns = @JoinColumn(name = "id_curso")  // FK para Curso
+        inverseJoinColumns = @JoinColumn(name = "id_curso"),  // FK para Curso
+        // No banco o par é a chave primária pk_turma_curso (migração V10)
+        uniqueConstraints = @UniqueConstraint(name = "pk_turma_curso", columnNames = {"id_turma", "id_curso"}),
+        indexes = @Index(name = "idx_turma_curso_curso", columnList = "id_curso")
     )
     private List<Curso> cursos; // Lista de cursos associados à turma
 
@@ -34,6 +40,22 @@ public class Turma {
     @JsonIgnore  // Ignora a propriedade "alunos" para evitar referência circular ao serializar
     private List<Aluno> alunos; // Relacionamento com a entidade Aluno
 
+    // Quantidade de alunos mantida pelo AlunoService (TurmaRepository.ajustarQuantidadeAlunos);
+    // nunca é sobrescrita ao salvar a turma
+    @Column(name = "quantidade_alunos", nullable = false, updatable = false)
+    private long quantidadeAlunos;
+
+    // Número máximo de alunos (nulo = sem limite); as vagas são reservadas por TurmaRepository.reservarVagas
+    @Column(name = "capacidade")
+    private Integer capacidade;
+
+    // Os contadores de alunos (UPDATEs de quantidade_alunos) não mudam a versão: ela protege
+    // apenas os dados editáveis da turma
+    @Version
+    @Column(name = "versao", nullable = false)
+    @JsonIgnore
+    private Long versao;
+
 
     // Construtores, getters e setters
     public Turma() {}
@@ -94,21 +116,29 @@ public class Turma {
         this.alunos = alunos;
     }
 
-    // Método para contar o número de alunos na turma
-    public int getQuantidadeAlunos() {
-        return alunos != null ? alunos.size() : 0;
+    public Integer getCapacidade() {
+        return capacidade;
     }
 
-    // Método para calcular a data de término com base nos cursos associados à turma
-    public void calcularDataTermino() {
-        if (this.dataInicio != null && this.cursos != null && !this.cursos.isEmpty()) {
-            int totalHoras = this.cursos.stream().mapToInt(Curso::getCargaHoraria).sum(); // Soma das cargas horárias dos cursos
+    public void setCapacidade(Integer capacidade) {
+        this.capacidade = capacidade;
+    }
 
-            // Estima-se que cada 8 horas representem 1 dia útil de aulas (ajustável conforme necessário)
-            int diasDeAula = totalHoras / 8;
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
+    // Número de alunos na turma (contador materializado, sem carregar a coleção)
+    public long getQuantidadeAlunos() {
+        return quantidadeAlunos;
+    }
 
-            // Calcula a data de término adicionando os dias de aula à data de início
-            this.dataFim = new Date(this.dataInicio.getTime() + (diasDeAula * 24 * 60 * 60 * 1000L)); // Adiciona dias em milissegundos
-        }
+    // Soma das cargas horárias dos cursos da turma
+    public int calcularTotalHoras() {
+        return this.cursos == null ? 0 : this.cursos.stream().mapToInt(Curso::getCargaHoraria).sum();
     }
 }
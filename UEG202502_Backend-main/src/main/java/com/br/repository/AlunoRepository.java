@@ -1,10 +1,185 @@
 package com.br.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import com.br.model.*;
+import com.br.repository.projecao.AlunoProjecao;
+import com.br.repository.projecao.CursoVinculadoProjecao;
+import com.br.repository.projecao.MatriculaProjecao;
+import com.br.repository.projecao.MensalidadeAlunoProjecao;
+import com.br.repository.projecao.ResultadoBuscaProjecao;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * A turma do aluno é carregada junto (JOIN) nas consultas de entidade.
+ * As coleções (cursos do aluno, cursos e alunos da turma) são carregadas em lote
+ * via hibernate.default_batch_fetch_size, evitando uma consulta por linha (N+1).
+ * As consultas de leitura da API usam projeções, lendo apenas as colunas exibidas.
+ */
 @Repository
 public interface AlunoRepository extends JpaRepository<Aluno, Long> {
 
+    @Override
+    @EntityGraph(attributePaths = "turma")
+    Optional<Aluno> findById(Long codigo);
+
+    /**
+     * Busca uma página de alunos ordenada por código, a partir do cursor informado (keyset).
+     * Os filtros nulos são ignorados; o filtro de nome é um prefixo já em minúsculas e com curingas escapados.
+     * O tamanho da página vem do Pageable (sempre a primeira página, o deslocamento é feito pelo cursor).
+     */
+    @Query("SELECT a.codigo AS codigo, a.nome AS nome, a.dataMatricula AS dataMatricula, " +
+           "a.mensalidade AS mensalidade, a.semestre AS semestre, a.bolsista AS bolsista, a.versao AS versao, " +
+           "t.id AS idTurma, t.turno AS turno, t.dataInicio AS dataInicioTurma, t.dataFim AS dataFimTurma " +
+           "FROM Aluno a LEFT JOIN a.turma t " +
+           "WHERE (:cursor IS NULL OR a.codigo > :cursor) " +
+           "AND (:idTurma IS NULL OR t.id = :idTurma) " +
+           "AND (:semestre IS NULL OR a.semestre = :semestre) " +
+           "AND (:bolsista IS NULL OR a.bolsista = :bolsista) " +
+           "AND (:nomePrefixo IS NULL OR LOWER(a.nome) LIKE CONCAT(:nomePrefixo, '%') ESCAPE '\\') " +
+           "ORDER BY a.codigo")
+    List<AlunoProjecao> buscarPagina(@Param("cursor") Long cursor,
+                                     @Param("idTurma") Long idTurma,
+                                     @Param("semestre") Integer semestre,
+                                     @Param("bolsista") Boolean bolsista,
+                                     @Param("nomePrefixo") String nomePrefixo,
+                                     Pageable pageable);
+
+    // Projeções de vários alunos, com a sua turma (ordem indefinida)
+    @Query("SELECT a.codigo AS codigo, a.nome AS nome, a.dataMatricula AS dataMatricula, " +
+           "a.mensalidade AS mensalidade, a.semestre AS semestre, a.bolsista AS bolsista, a.versao AS versao, " +
+           "t.id AS idTurma, t.turno AS turno, t.dataInicio AS dataInicioTurma, t.dataFim AS dataFimTurma " +
+           "FROM Aluno a LEFT JOIN a.turma t WHERE a.codigo IN :codigos")
+    List<AlunoProjecao> buscarProjecoes(@Param("codigos") Collection<Long> codigos);
+
+    /**
+     * Busca por nome (V7__busca_por_nome.sql): o nome contém o trecho ou é parecido com o termo,
+     * sem diferenciar acentos e maiúsculas. Os nomes que começam pelo termo vêm primeiro,
+     * depois os mais parecidos. Os dois filtros usam o índice GIN de trigramas.
+     */
+    @Query(value = "SELECT a.codigo AS id, word_similarity(:termo, nome_busca(a.nome)) AS relevancia FROM aluno a " +
+           "WHERE nome_busca(a.nome) LIKE :trecho ESCAPE '\\' OR nome_parecido(:termo, nome_busca(a.nome)) " +
+           "ORDER BY nome_busca(a.nome) LIKE :prefixo ESCAPE '\\' DESC, relevancia DESC, a.codigo " +
+           "LIMIT :limite OFFSET :deslocamento", nativeQuery = true)
+    List<ResultadoBuscaProjecao> buscarPorNome(@Param("termo") String termo,
+                                               @Param("trecho") String trecho,
+                                               @Param("prefixo") String prefixo,
+                                               @Param("limite") int limite,
+                                               @Param("deslocamento") long deslocamento);
+
+    // Projeção de um único aluno, com a sua turma
+    @Query("SELECT a.codigo AS codigo, a.nome AS nome, a.dataMatricula AS dataMatricula, " +
+           "a.mensalidade AS mensalidade, a.semestre AS semestre, a.bolsista AS bolsista, a.versao AS versao, " +
+           "t.id AS idTurma, t.turno AS turno, t.dataInicio AS dataInicioTurma, t.dataFim AS dataFimTurma " +
+           "FROM Aluno a LEFT JOIN a.turma t WHERE a.codigo = :codigo")
+    Optional<AlunoProjecao> buscarProjecao(@Param("codigo") Long codigo);
+
+    /**
+     * Turma, semestre, bolsista, mensalidade e cursos gravados no banco para o aluno (antes de uma
+     * alteração ainda não gravada), uma linha por curso. Não dispara o flush automático: uma alteração
+     * pendente no aluno não afeta o resultado. Lista vazia se o aluno não existe.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("SELECT t.id AS idTurma, a.semestre AS semestre, a.bolsista AS bolsista, " +
+           "a.mensalidade AS mensalidade, c.id AS idCurso, a.versao AS versao " +
+           "FROM Aluno a LEFT JOIN a.turma t LEFT JOIN a.cursos c WHERE a.codigo = :codigo")
+    List<MensalidadeAlunoProjecao> buscarMensalidade(@Param("codigo") Long codigo);
+
+    /**
+     * Move o aluno para a turma informada sem carregar a entidade (promoção da lista de espera), só se ele
+     * ainda estiver na versão lida antes: devolve 0 se outra gravação alterou o aluno nesse meio tempo.
+     */
+    @Modifying
+    @Query("UPDATE Aluno a SET a.turma = :turma, a.versao = a.versao + 1 " +
+           "WHERE a.codigo = :codigo AND a.versao = :versao")
+    int atualizarTurma(@Param("codigo") Long codigo, @Param("turma") Turma turma, @Param("versao") Long versao);
+
+    // Cursos (tabela matricula) de um conjunto de alunos, em uma única consulta
+    @Query("SELECT a.codigo AS idDono, c.id AS id, c.nome AS nome, c.cargaHoraria AS cargaHoraria " +
+           "FROM Aluno a JOIN a.cursos c WHERE a.codigo IN :codigos")
+    List<CursoVinculadoProjecao> buscarCursosDosAlunos(@Param("codigos") Collection<Long> codigos);
+
+    /**
+     * Percorre todos os alunos com um cursor do banco (para exportação), sem carregar a lista em memória.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a.codigo AS codigo, a.nome AS nome, a.dataMatricula AS dataMatricula, " +
+           "a.mensalidade AS mensalidade, a.semestre AS semestre, a.bolsista AS bolsista, a.versao AS versao, " +
+           "t.id AS idTurma, t.turno AS turno, t.dataInicio AS dataInicioTurma, t.dataFim AS dataFimTurma " +
+           "FROM Aluno a LEFT JOIN a.turma t ORDER BY a.codigo")
+    Stream<AlunoProjecao> percorrerAlunos();
+
+    // Percorre todos os pares aluno x curso (tabela matricula) com um cursor do banco
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a.codigo AS codigoAluno, a.nome AS nomeAluno, c.id AS idCurso, c.nome AS nomeCurso " +
+           "FROM Aluno a JOIN a.cursos c ORDER BY a.codigo, c.id")
+    Stream<MatriculaProjecao> percorrerMatriculas();
+
+    // Códigos, dentre os informados, que existem na tabela aluno
+    @Query("SELECT a.codigo FROM Aluno a WHERE a.codigo IN :codigos")
+    List<Long> buscarCodigosExistentes(@Param("codigos") Collection<Long> codigos);
+
+    /**
+     * Matricula cada aluno informado em cada curso, em um único INSERT ... SELECT; os pares que já
+     * existem são ignorados pela chave primária (ON CONFLICT DO NOTHING). O espaço "matricula" limita
+     * a invalidação do cache de segundo nível a essa tabela.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "matricula"))
+    @Query(value = "INSERT INTO matricula (id_aluno, id_curso) " +
+                   "SELECT a.codigo, c.id FROM aluno a CROSS JOIN curso c " +
+                   "WHERE a.codigo IN (:codigos) AND c.id IN (:cursos) " +
+                   "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int matricular(@Param("codigos") Collection<Long> codigos, @Param("cursos") Collection<Long> cursos);
+
+    // Matricula todos os alunos das turmas em cada curso, no mesmo INSERT ... SELECT (pelo índice idx_aluno_turma)
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "matricula"))
+    @Query(value = "INSERT INTO matricula (id_aluno, id_curso) " +
+                   "SELECT a.codigo, c.id FROM aluno a CROSS JOIN curso c " +
+                   "WHERE a.id_turma IN (:turmas) AND c.id IN (:cursos) " +
+                   "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int matricularTurmas(@Param("turmas") Collection<Long> turmas, @Param("cursos") Collection<Long> cursos);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "matricula"))
+    @Query(value = "DELETE FROM matricula WHERE id_aluno IN (:codigos) AND id_curso IN (:cursos)",
+           nativeQuery = true)
+    int cancelarMatriculas(@Param("codigos") Collection<Long> codigos, @Param("cursos") Collection<Long> cursos);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "matricula"))
+    @Query(value = "DELETE FROM matricula WHERE id_curso IN (:cursos) " +
+                   "AND id_aluno IN (SELECT a.codigo FROM aluno a WHERE a.id_turma IN (:turmas))",
+           nativeQuery = true)
+    int cancelarMatriculasDasTurmas(@Param("turmas") Collection<Long> turmas, @Param("cursos") Collection<Long> cursos);
+
+    // Nova versão (ETag) para os alunos cujas matrículas podem ter mudado; também bloqueia as linhas
+    // até o fim da transação, como o UPDATE que o Hibernate faz ao salvar o aluno
+    @Modifying
+    @Query("UPDATE Aluno a SET a.versao = a.versao + 1 WHERE a.codigo IN :codigos")
+    int incrementarVersao(@Param("codigos") Collection<Long> codigos);
+
+    @Modifying
+    @Query("UPDATE Aluno a SET a.versao = a.versao + 1 WHERE a.turma.id IN :turmas")
+    int incrementarVersaoDasTurmas(@Param("turmas") Collection<Long> turmas);
 }
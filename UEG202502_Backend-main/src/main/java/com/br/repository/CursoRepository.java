@@ -1,11 +1,22 @@
 package com.br.repository;
 
+import com.br.dto.CursoResumoDTO;
 import com.br.model.Curso;
+import com.br.repository.projecao.ResultadoBuscaProjecao;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+/**
+ * As consultas por nome e as de resumo usam o cache de consultas do Hibernate: o curso quase nunca
+ * muda e qualquer gravação na tabela curso invalida os resultados guardados.
+ */
 public interface CursoRepository extends JpaRepository<Curso, Long> {
     
     /**
@@ -15,10 +26,43 @@ public interface CursoRepository extends JpaRepository<Curso, Long> {
     Optional<Curso> findByNome(String nome);
     
     /**
-     * Busca um curso pelo nome ignorando maiúsculas/minúsculas (case-insensitive).
-     * Útil quando o nome pode vir com variações de capitalização.
+     * Busca um curso pelo nome normalizado (Curso.normalizarNome), ignorando acentos,
+     * maiúsculas/minúsculas e espaços extras. Usa o índice único uk_curso_nome_normalizado.
      */
-    @Query("SELECT c FROM Curso c WHERE LOWER(TRIM(c.nome)) = LOWER(TRIM(:nome))")
-    Optional<Curso> findByNomeIgnoreCase(@Param("nome") String nome);
-}
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Optional<Curso> findByNomeNormalizado(String nomeNormalizado);
+
+    /**
+     * Busca vários cursos de uma vez pelo nome normalizado (os nomes informados já devem estar normalizados).
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Curso> findByNomeNormalizadoIn(Collection<String> nomesNormalizados);
+
+    /**
+     * Lista os cursos já no formato de resposta da API, lendo apenas as colunas necessárias.
+     */
+    @Query("SELECT new com.br.dto.CursoResumoDTO(c.id, c.nome, c.cargaHoraria, c.versao) FROM Curso c ORDER BY c.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<CursoResumoDTO> listarResumos();
+
+    @Query("SELECT new com.br.dto.CursoResumoDTO(c.id, c.nome, c.cargaHoraria, c.versao) FROM Curso c WHERE c.id = :id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Optional<CursoResumoDTO> buscarResumo(@Param("id") Long id);
+
+    // IDs, dentre os informados, que existem na tabela curso
+    @Query("SELECT c.id FROM Curso c WHERE c.id IN :ids")
+    List<Long> buscarIdsExistentes(@Param("ids") Collection<Long> ids);
 
+    /**
+     * Busca por nome, como AlunoRepository.buscarPorNome (mesmas funções e mesmo tipo de índice).
+     */
+    @Query(value = "SELECT c.id AS id, word_similarity(:termo, nome_busca(c.nome)) AS relevancia FROM curso c " +
+           "WHERE nome_busca(c.nome) LIKE :trecho ESCAPE '\\' OR nome_parecido(:termo, nome_busca(c.nome)) " +
+           "ORDER BY nome_busca(c.nome) LIKE :prefixo ESCAPE '\\' DESC, relevancia DESC, c.id " +
+           "LIMIT :limite OFFSET :deslocamento", nativeQuery = true)
+    List<ResultadoBuscaProjecao> buscarPorNome(@Param("termo") String termo,
+                                               @Param("trecho") String trecho,
+                                               @Param("prefixo") String prefixo,
+                                               @Param("limite") int limite,
+                                               @Param("deslocamento") long deslocamento);
+}
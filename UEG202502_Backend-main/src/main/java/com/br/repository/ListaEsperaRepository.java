@@ -0,0 +1,52 @@
+package com.br.repository;
+
+import com.br.model.ListaEspera;
+import com.br.repository.projecao.EsperaProjecao;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Todas as consultas por turma usam o índice (id_turma, id): ler o início da fila
+ * não depende do tamanho da fila nem da quantidade de alunos.
+ */
+@Repository
+public interface ListaEsperaRepository extends JpaRepository<ListaEspera, Long> {
+
+    // Fila de uma turma na ordem de inscrição (o tamanho vem do Pageable)
+    @Query("SELECT e.id AS id, a.codigo AS codigoAluno, a.nome AS nomeAluno, e.dataInscricao AS dataInscricao " +
+           "FROM ListaEspera e JOIN e.aluno a WHERE e.turma.id = :idTurma ORDER BY e.id")
+    List<EsperaProjecao> buscarFila(@Param("idTurma") Long idTurma, Pageable pageable);
+
+    boolean existsByTurmaIdAndAlunoCodigo(Long idTurma, Long codigoAluno);
+
+    // Posição na fila = inscrições da turma com ID menor ou igual
+    @Query("SELECT COUNT(e) FROM ListaEspera e WHERE e.turma.id = :idTurma AND e.id <= :id")
+    long contarAte(@Param("idTurma") Long idTurma, @Param("id") Long id);
+
+    // Turmas que têm alguém aguardando (para retomar as promoções ao iniciar a aplicação)
+    @Query("SELECT DISTINCT e.turma.id FROM ListaEspera e")
+    List<Long> buscarTurmasComEspera();
+
+    // Remove uma inscrição; devolve 0 se ela já foi removida (promovida ou cancelada) por outra transação
+    @Modifying
+    @Query("DELETE FROM ListaEspera e WHERE e.id = :id")
+    int remover(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM ListaEspera e WHERE e.turma.id = :idTurma AND e.aluno.codigo = :codigoAluno")
+    int removerDaTurma(@Param("idTurma") Long idTurma, @Param("codigoAluno") Long codigoAluno);
+
+    @Modifying
+    @Query("DELETE FROM ListaEspera e WHERE e.aluno.codigo = :codigoAluno")
+    int removerDoAluno(@Param("codigoAluno") Long codigoAluno);
+
+    @Modifying
+    @Query("DELETE FROM ListaEspera e WHERE e.turma.id = :idTurma")
+    int removerTodosDaTurma(@Param("idTurma") Long idTurma);
+}
@@ -0,0 +1,60 @@
+package com.br.repository;
+
+import com.br.dto.TotalMensalidadeDTO;
+import com.br.model.ResumoMensalidadeCurso;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Resumo de mensalidades por curso: ajustado a cada gravação de aluno e recalculado a partir da
+ * tabela matricula quando as matrículas mudam em lote.
+ */
+@Repository
+public interface ResumoMensalidadeCursoRepository extends JpaRepository<ResumoMensalidadeCurso, Long> {
+
+    @Modifying
+    @Query("UPDATE ResumoMensalidadeCurso r SET r.quantidadeAlunos = r.quantidadeAlunos + :alunos, " +
+           "r.totalMensalidade = r.totalMensalidade + :valor WHERE r.idCurso = :idCurso")
+    int ajustar(@Param("idCurso") Long idCurso, @Param("alunos") long alunos, @Param("valor") BigDecimal valor);
+
+    // Cria as linhas zeradas que faltam para os cursos informados
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "resumo_mensalidade_curso"))
+    @Query(value = "INSERT INTO resumo_mensalidade_curso (id_curso, quantidade_alunos, total_mensalidade) " +
+                   "SELECT c.id, 0, 0 FROM curso c WHERE c.id IN (:cursos) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int criar(@Param("cursos") Collection<Long> cursos);
+
+    // Bloqueia as linhas até o fim da transação: os ajustes concorrentes esperam o recálculo terminar
+    @Modifying
+    @Query("UPDATE ResumoMensalidadeCurso r SET r.quantidadeAlunos = r.quantidadeAlunos WHERE r.idCurso IN :cursos")
+    int bloquear(@Param("cursos") Collection<Long> cursos);
+
+    /**
+     * Recalcula as linhas dos cursos pela tabela matricula (índice idx_matricula_curso). O arredondamento
+     * é o mesmo do ResumoMensalidadeService: 4 casas e depois 2, com as metades para longe do zero.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "resumo_mensalidade_curso"))
+    @Query(value = "UPDATE resumo_mensalidade_curso SET " +
+                   "quantidade_alunos = (SELECT COUNT(*) FROM matricula m " +
+                   "WHERE m.id_curso = resumo_mensalidade_curso.id_curso), " +
+                   "total_mensalidade = (SELECT COALESCE(SUM(ROUND(CAST(a.mensalidade AS numeric(19,4)), 2)), 0) " +
+                   "FROM matricula m JOIN aluno a ON a.codigo = m.id_aluno " +
+                   "WHERE m.id_curso = resumo_mensalidade_curso.id_curso) " +
+                   "WHERE id_curso IN (:cursos)", nativeQuery = true)
+    int recalcular(@Param("cursos") Collection<Long> cursos);
+
+    @Query("SELECT new com.br.dto.TotalMensalidadeDTO(r.idCurso, r.quantidadeAlunos, r.totalMensalidade) " +
+           "FROM ResumoMensalidadeCurso r WHERE r.quantidadeAlunos > 0 ORDER BY r.idCurso")
+    List<TotalMensalidadeDTO<Long>> totaisPorCurso();
+}
@@ -0,0 +1,50 @@
+package com.br.repository;
+
+import com.br.dto.TotalMensalidadeDTO;
+import com.br.model.ResumoMensalidade;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Resumo de mensalidades por turma, semestre e bolsista. Os totais são agrupados (GROUP BY) sobre
+ * as linhas do resumo, cuja quantidade depende das turmas e semestres, não do número de alunos.
+ */
+@Repository
+public interface ResumoMensalidadeRepository extends JpaRepository<ResumoMensalidade, ResumoMensalidade.Chave> {
+
+    // Soma a diferença à linha do resumo, em um único UPDATE atômico; devolve 0 se a linha ainda não existe
+    @Modifying
+    @Query("UPDATE ResumoMensalidade r SET r.quantidadeAlunos = r.quantidadeAlunos + :alunos, " +
+           "r.totalMensalidade = r.totalMensalidade + :valor " +
+           "WHERE r.idTurma = :idTurma AND r.semestre = :semestre AND r.bolsista = :bolsista")
+    int ajustar(@Param("idTurma") long idTurma, @Param("semestre") int semestre, @Param("bolsista") boolean bolsista,
+                @Param("alunos") long alunos, @Param("valor") BigDecimal valor);
+
+    // Cria a linha zerada; se outra transação já a criou, não faz nada
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "resumo_mensalidade"))
+    @Query(value = "INSERT INTO resumo_mensalidade (id_turma, semestre, bolsista, quantidade_alunos, total_mensalidade) " +
+                   "VALUES (:idTurma, :semestre, :bolsista, 0, 0) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int criar(@Param("idTurma") long idTurma, @Param("semestre") int semestre, @Param("bolsista") boolean bolsista);
+
+    @Query("SELECT new com.br.dto.TotalMensalidadeDTO(NULLIF(r.idTurma, 0), SUM(r.quantidadeAlunos), SUM(r.totalMensalidade)) " +
+           "FROM ResumoMensalidade r GROUP BY r.idTurma HAVING SUM(r.quantidadeAlunos) > 0 ORDER BY r.idTurma")
+    List<TotalMensalidadeDTO<Long>> totaisPorTurma();
+
+    @Query("SELECT new com.br.dto.TotalMensalidadeDTO(NULLIF(r.semestre, 0), SUM(r.quantidadeAlunos), SUM(r.totalMensalidade)) " +
+           "FROM ResumoMensalidade r GROUP BY r.semestre HAVING SUM(r.quantidadeAlunos) > 0 ORDER BY r.semestre")
+    List<TotalMensalidadeDTO<Integer>> totaisPorSemestre();
+
+    @Query("SELECT new com.br.dto.TotalMensalidadeDTO(r.bolsista, SUM(r.quantidadeAlunos), SUM(r.totalMensalidade)) " +
+           "FROM ResumoMensalidade r GROUP BY r.bolsista HAVING SUM(r.quantidadeAlunos) > 0 ORDER BY r.bolsista")
+    List<TotalMensalidadeDTO<Boolean>> totaisPorBolsista();
+}
@@ -1,10 +1,139 @@
 package com.br.repository;
 
 import com.br.model.Turma;
+import com.br.repository.projecao.CargaTurmaProjecao;
+import com.br.repository.projecao.CursoVinculadoProjecao;
+import com.br.repository.projecao.TurmaProjecao;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Os cursos da turma são carregados junto (JOIN) na listagem e na consulta por ID.
+ * A coleção de alunos é carregada em lote via hibernate.default_batch_fetch_size.
+ * As consultas de leitura da API usam projeções e leem a quantidade de alunos da coluna
+ * quantidade_alunos, mantida por ajustarQuantidadeAlunos, sem carregar nem contar a coleção.
+ */
 @Repository
 public interface TurmaRepository extends JpaRepository<Turma, Long> {
-    // Métodos customizados podem ser adicionados aqui
+
+    @Override
+    @EntityGraph(attributePaths = "cursos")
+    List<Turma> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "cursos")
+    Optional<Turma> findById(Long id);
+
+    @Query("SELECT t.id AS id, t.turno AS turno, t.dataInicio AS dataInicio, t.dataFim AS dataFim, " +
+           "t.quantidadeAlunos AS quantidadeAlunos, t.capacidade AS capacidade, t.versao AS versao " +
+           "FROM Turma t ORDER BY t.id")
+    List<TurmaProjecao> listarProjecoes();
+
+    @Query("SELECT t.id AS id, t.turno AS turno, t.dataInicio AS dataInicio, t.dataFim AS dataFim, " +
+           "t.quantidadeAlunos AS quantidadeAlunos, t.capacidade AS capacidade, t.versao AS versao " +
+           "FROM Turma t WHERE t.id = :id")
+    Optional<TurmaProjecao> buscarProjecao(@Param("id") Long id);
+
+    @Query("SELECT t.id AS id, t.turno AS turno, t.dataInicio AS dataInicio, t.dataFim AS dataFim, " +
+           "t.quantidadeAlunos AS quantidadeAlunos, t.capacidade AS capacidade, t.versao AS versao " +
+           "FROM Turma t WHERE t.id IN :ids ORDER BY t.id")
+    List<TurmaProjecao> buscarProjecoes(@Param("ids") Collection<Long> ids);
+
+    // Cursos (tabela turma_curso) de um conjunto de turmas, em uma única consulta
+    @Query("SELECT t.id AS idDono, c.id AS id, c.nome AS nome, c.cargaHoraria AS cargaHoraria " +
+           "FROM Turma t JOIN t.cursos c WHERE t.id IN :ids")
+    List<CursoVinculadoProjecao> buscarCursosDasTurmas(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Turmas com data de início que têm o curso, com o turno e a carga horária total de cada uma, em ordem de ID
+     * a partir de "cursor". A subconsulta chega às turmas pelo índice idx_turma_curso_curso e a soma
+     * lê os cursos de cada turma pela chave pk_turma_curso (id_turma, id_curso): só as turmas afetadas são lidas.
+     */
+    @Query("SELECT t.id AS id, t.dataInicio AS dataInicio, t.turno AS turno, SUM(c.cargaHoraria) AS totalHoras " +
+           "FROM Turma t JOIN t.cursos c " +
+           "WHERE t.id > :cursor AND t.dataInicio IS NOT NULL " +
+           "AND t.id IN (SELECT tc.id FROM Turma tc JOIN tc.cursos cc WHERE cc.id = :idCurso) " +
+           "GROUP BY t.id, t.dataInicio, t.turno ORDER BY t.id")
+    List<CargaTurmaProjecao> buscarCargasDasTurmasDoCurso(@Param("idCurso") Long idCurso,
+                                                          @Param("cursor") Long cursor,
+                                                          Pageable lote);
+
+    // Carga horária total das turmas informadas que têm data de início e algum curso
+    @Query("SELECT t.id AS id, t.dataInicio AS dataInicio, t.turno AS turno, SUM(c.cargaHoraria) AS totalHoras " +
+           "FROM Turma t JOIN t.cursos c " +
+           "WHERE t.id IN :ids AND t.dataInicio IS NOT NULL " +
+           "GROUP BY t.id, t.dataInicio, t.turno")
+    List<CargaTurmaProjecao> buscarCargasDasTurmas(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Vincula cada curso a cada turma informada, em um único INSERT ... SELECT, pulando os pares
+     * que já existem. O espaço "turma_curso" limita a invalidação do cache de segundo nível a essa
+     * tabela (sem ele, a consulta nativa esvaziaria todas as regiões, inclusive a dos cursos).
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "turma_curso"))
+    @Query(value = "INSERT INTO turma_curso (id_turma, id_curso) " +
+                   "SELECT t.id, c.id FROM turma t CROSS JOIN curso c " +
+                   "WHERE t.id IN (:turmas) AND c.id IN (:cursos) " +
+                   "AND NOT EXISTS (SELECT 1 FROM turma_curso tc WHERE tc.id_turma = t.id AND tc.id_curso = c.id)",
+           nativeQuery = true)
+    int vincularCursos(@Param("turmas") Collection<Long> turmas, @Param("cursos") Collection<Long> cursos);
+
+    // Desvincula os cursos de todas as turmas informadas, em um único DELETE
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "turma_curso"))
+    @Query(value = "DELETE FROM turma_curso WHERE id_turma IN (:turmas) AND id_curso IN (:cursos)",
+           nativeQuery = true)
+    int desvincularCursos(@Param("turmas") Collection<Long> turmas, @Param("cursos") Collection<Long> cursos);
+
+    // Nova versão para as turmas (ETag), quando só a lista de cursos mudou
+    @Modifying
+    @Query("UPDATE Turma t SET t.versao = t.versao + 1 WHERE t.id IN :ids")
+    int incrementarVersao(@Param("ids") Collection<Long> ids);
+
+    // IDs, dentre os informados, que existem na tabela turma
+    @Query("SELECT t.id FROM Turma t WHERE t.id IN :ids")
+    List<Long> buscarIdsExistentes(@Param("ids") Collection<Long> ids);
+
+    // Quantidade de alunos de uma turma contada na tabela aluno (conferência do contador)
+    @Query("SELECT COUNT(a) FROM Aluno a WHERE a.turma.id = :id")
+    long contarAlunos(@Param("id") Long id);
+
+    // Soma "delta" ao contador de alunos da turma, em um único UPDATE atômico no banco
+    @Modifying
+    @Query("UPDATE Turma t SET t.quantidadeAlunos = t.quantidadeAlunos + :delta WHERE t.id = :id")
+    int ajustarQuantidadeAlunos(@Param("id") Long id, @Param("delta") long delta);
+
+    /**
+     * Reserva "quantidade" vagas na turma com um único UPDATE condicional: só incrementa o contador
+     * se as vagas couberem na capacidade. Devolve 0 quando a turma está lotada (ou não existe).
+     * A linha fica bloqueada só até o fim da transação, sem lock de tabela.
+     */
+    @Modifying
+    @Query("UPDATE Turma t SET t.quantidadeAlunos = t.quantidadeAlunos + :quantidade " +
+           "WHERE t.id = :id AND (t.capacidade IS NULL OR t.quantidadeAlunos + :quantidade <= t.capacidade)")
+    int reservarVagas(@Param("id") Long id, @Param("quantidade") long quantidade);
+
+    // Percorre todas as turmas com um cursor do banco (para exportação)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t.id AS id, t.turno AS turno, t.dataInicio AS dataInicio, t.dataFim AS dataFim, " +
+           "t.quantidadeAlunos AS quantidadeAlunos, t.capacidade AS capacidade, t.versao AS versao " +
+           "FROM Turma t ORDER BY t.id")
+    Stream<TurmaProjecao> percorrerTurmas();
 }
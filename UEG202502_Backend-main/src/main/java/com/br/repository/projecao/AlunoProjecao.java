@@ -0,0 +1,31 @@
+package com.br.repository.projecao;
+
+import java.util.Date;
+
+/**
+ * Colunas de um aluno e da sua turma, lidas sem hidratar as entidades.
+ */
+public interface AlunoProjecao {
+
+    Long getCodigo();
+
+    String getNome();
+
+    Date getDataMatricula();
+
+    Double getMensalidade();
+
+    Integer getSemestre();
+
+    Boolean getBolsista();
+
+    Long getIdTurma();
+
+    String getTurno();
+
+    Date getDataInicioTurma();
+
+    Date getDataFimTurma();
+
+    Long getVersao();
+}
@@ -0,0 +1,17 @@
+package com.br.repository.projecao;
+
+import java.util.Date;
+
+/**
+ * Data de início e turno de uma turma e a carga horária somada dos seus cursos, calculada no banco.
+ */
+public interface CargaTurmaProjecao {
+
+    Long getId();
+
+    Date getDataInicio();
+
+    String getTurno();
+
+    Long getTotalHoras();
+}
@@ -0,0 +1,15 @@
+package com.br.repository.projecao;
+
+/**
+ * Curso associado a um aluno ou a uma turma ("idDono"), lido da tabela de junção.
+ */
+public interface CursoVinculadoProjecao {
+
+    Long getIdDono();
+
+    Long getId();
+
+    String getNome();
+
+    int getCargaHoraria();
+}
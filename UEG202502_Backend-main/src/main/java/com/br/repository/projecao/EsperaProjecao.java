@@ -0,0 +1,17 @@
+package com.br.repository.projecao;
+
+import java.util.Date;
+
+/**
+ * Uma inscrição na lista de espera com o aluno, lida sem hidratar as entidades.
+ */
+public interface EsperaProjecao {
+
+    Long getId();
+
+    Long getCodigoAluno();
+
+    String getNomeAluno();
+
+    Date getDataInscricao();
+}
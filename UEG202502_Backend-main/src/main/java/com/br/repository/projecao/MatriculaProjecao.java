@@ -0,0 +1,15 @@
+package com.br.repository.projecao;
+
+/**
+ * Par aluno x curso da tabela matricula, com os nomes para exportação.
+ */
+public interface MatriculaProjecao {
+
+    Long getCodigoAluno();
+
+    String getNomeAluno();
+
+    Long getIdCurso();
+
+    String getNomeCurso();
+}
@@ -0,0 +1,20 @@
+package com.br.repository.projecao;
+
+/**
+ * Dados de um aluno que entram nos resumos de mensalidade, com um dos seus cursos (uma linha por
+ * curso; idCurso nulo se o aluno não tem matrícula).
+ */
+public interface MensalidadeAlunoProjecao {
+
+    Long getIdTurma();
+
+    Integer getSemestre();
+
+    Boolean getBolsista();
+
+    Double getMensalidade();
+
+    Long getIdCurso();
+
+    Long getVersao();
+}
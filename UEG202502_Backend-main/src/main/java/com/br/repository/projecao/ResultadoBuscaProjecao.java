@@ -0,0 +1,11 @@
+package com.br.repository.projecao;
+
+/**
+ * Um registro encontrado pela busca por nome e a relevância usada na ordenação.
+ */
+public interface ResultadoBuscaProjecao {
+
+    Long getId();
+
+    Double getRelevancia();
+}
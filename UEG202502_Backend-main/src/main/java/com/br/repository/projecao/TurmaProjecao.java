@@ -0,0 +1,23 @@
+package com.br.repository.projecao;
+
+import java.util.Date;
+
+/**
+ * Colunas de uma turma, a quantidade de alunos e a capacidade, lidas sem hidratar a entidade.
+ */
+public interface TurmaProjecao {
+
+    Long getId();
+
+    String getTurno();
+
+    Date getDataInicio();
+
+    Date getDataFim();
+
+    long getQuantidadeAlunos();
+
+    Integer getCapacidade();
+
+    Long getVersao();
+}
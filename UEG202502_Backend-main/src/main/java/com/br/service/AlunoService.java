@@ -1,12 +1,36 @@
 package com.br.service;
 
+import com.br.dto.AlunoResumoDTO;
+import com.br.dto.CursoResumoDTO;
+import com.br.dto.Pagina;
+import com.br.dto.TurmaReferenciaDTO;
+import com.br.exception.ResourceNotFoundException;
+import com.br.exception.TurmaLotadaException;
+import com.br.exception.VersaoDesatualizadaException;
 import com.br.model.Aluno;
+import com.br.model.Curso;
 import com.br.repository.AlunoRepository;
+import com.br.repository.ListaEsperaRepository;
+import com.br.repository.TurmaRepository;
+import com.br.repository.projecao.AlunoProjecao;
+import com.br.repository.projecao.ResultadoBuscaProjecao;
+import com.br.service.RegistroAlteracoes.Tabela;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class AlunoService {
@@ -14,19 +38,196 @@ public class AlunoService {
     @Autowired
     private AlunoRepository alunoRepository;
 
-    // Método para listar todos os alunos
-    public List<Aluno> listarAlunos() {
-        return alunoRepository.findAll();
+    @Autowired
+    private TurmaRepository turmaRepository;
+
+    @Autowired
+    private ListaEsperaRepository listaEsperaRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventos;
+
+    @Autowired
+    private RegistroAlteracoes registroAlteracoes;
+
+    @Autowired
+    private ResumoMensalidadeService resumoMensalidade;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.paginacao.limite-padrao:50}")
+    private int limitePadrao;
+
+    @Value("${app.paginacao.limite-maximo:500}")
+    private int limiteMaximo;
+
+    // Método para listar os alunos de forma paginada (cursor = último código da página anterior)
+    public Pagina<AlunoResumoDTO> listarAlunos(Long cursor, Integer limite, Long idTurma, Integer semestre,
+                                               Boolean bolsista, String nome) {
+        int tamanho = limite == null ? limitePadrao : Math.min(Math.max(limite, 1), limiteMaximo);
+
+        // Busca um registro a mais para saber se existe próxima página sem precisar de COUNT
+        List<AlunoProjecao> alunos = alunoRepository.buscarPagina(cursor, idTurma, semestre, bolsista,
+                prefixoNome(nome), PageRequest.of(0, tamanho + 1));
+
+        Long proximoCursor = null;
+        if (alunos.size() > tamanho) {
+            alunos = alunos.subList(0, tamanho);
+            proximoCursor = alunos.get(tamanho - 1).getCodigo();
+        }
+        return new Pagina<>(montarResumos(alunos), proximoCursor, tamanho);
+    }
+
+    // Método para buscar alunos pelo nome (sem acento, por trecho ou aproximado), em ordem de relevância
+    public Pagina<AlunoResumoDTO> buscarAlunos(String q, Long cursor, Integer limite) {
+        TermoBusca busca = TermoBusca.de(q);
+        int tamanho = limite == null ? limitePadrao : Math.min(Math.max(limite, 1), limiteMaximo);
+        long deslocamento = cursor == null ? 0 : Math.max(cursor, 0);
+
+        // Na busca o cursor é a posição do próximo resultado, já que a ordem é por relevância
+        List<ResultadoBuscaProjecao> encontrados = alunoRepository.buscarPorNome(
+                busca.termo(), busca.trecho(), busca.prefixo(), tamanho + 1, deslocamento);
+        Long proximoCursor = null;
+        if (encontrados.size() > tamanho) {
+            encontrados = encontrados.subList(0, tamanho);
+            proximoCursor = deslocamento + tamanho;
+        }
+        if (encontrados.isEmpty()) {
+            return new Pagina<>(List.of(), null, tamanho);
+        }
+
+        List<Long> codigos = encontrados.stream().map(ResultadoBuscaProjecao::getId).toList();
+        Map<Long, AlunoProjecao> alunos = alunoRepository.buscarProjecoes(codigos).stream()
+            .collect(Collectors.toMap(AlunoProjecao::getCodigo, Function.identity()));
+        List<AlunoProjecao> ordenados = codigos.stream().map(alunos::get).filter(Objects::nonNull).toList();
+        return new Pagina<>(montarResumos(ordenados), proximoCursor, tamanho);
+    }
+
+    // Método para consultar os dados de leitura de um aluno (sem hidratar a entidade)
+    public Optional<AlunoResumoDTO> consultarResumo(Long id) {
+        if (id == null || id <= 0) {
+            throw new IllegalArgumentException("ID do aluno inválido");
+        }
+        return alunoRepository.buscarProjecao(id)
+            .map(aluno -> montarResumos(List.of(aluno)).get(0));
     }
 
-    // Método para salvar um aluno (criar ou atualizar)
+    // Monta os DTOs buscando os cursos de todos os alunos em uma única consulta
+    private List<AlunoResumoDTO> montarResumos(List<AlunoProjecao> alunos) {
+        if (alunos.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<CursoResumoDTO>> cursos = CursoResumoDTO.agruparPorDono(
+                alunoRepository.buscarCursosDosAlunos(alunos.stream().map(AlunoProjecao::getCodigo).toList()));
+
+        return alunos.stream()
+            .map(a -> new AlunoResumoDTO(a.getCodigo(), a.getNome(), a.getDataMatricula(), a.getMensalidade(),
+                    a.getSemestre(), a.getBolsista(),
+                    a.getIdTurma() == null ? null
+                        : new TurmaReferenciaDTO(a.getIdTurma(), a.getTurno(), a.getDataInicioTurma(), a.getDataFimTurma()),
+                    cursos.getOrDefault(a.getCodigo(), List.of()), a.getVersao()))
+            .toList();
+    }
+
+    // Converte o nome em prefixo para LIKE: minúsculas e curingas escapados
+    private String prefixoNome(String nome) {
+        if (nome == null || nome.trim().isEmpty()) {
+            return null;
+        }
+        return nome.trim().toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
+    /**
+     * Método para salvar um aluno (criar ou atualizar), mantendo a quantidade de alunos das turmas.
+     * Ao entrar em uma turma, a vaga é reservada antes de gravar o aluno: se a turma estiver lotada
+     * lança TurmaLotadaException sem gravar nada. A vaga deixada na turma anterior é oferecida
+     * à lista de espera dela (promoção assíncrona, depois do commit). Os resumos de mensalidade
+     * recebem a diferença entre o aluno gravado antes e o aluno salvo.
+     */
+    @Transactional
     public Aluno salvarAluno(Aluno aluno) {
-        // Validações básicas antes de salvar
+        validarAluno(aluno);
+
+        ResumoMensalidadeService.Contribuicao anterior = aluno.getCodigo() == null ? null
+            : resumoMensalidade.contribuicaoAtual(aluno.getCodigo());
+        Long idTurmaAnterior = anterior == null ? null : anterior.idTurma();
+        Long idTurmaAtual = aluno.getTurma() == null ? null : aluno.getTurma().getId();
+        referenciarAssociacoes(aluno);
+
+        if (!Objects.equals(idTurmaAnterior, idTurmaAtual)) {
+            if (idTurmaAtual != null) {
+                reservarVaga(idTurmaAtual);
+                if (aluno.getCodigo() != null) {
+                    listaEsperaRepository.removerDaTurma(idTurmaAtual, aluno.getCodigo());
+                }
+            }
+            if (idTurmaAnterior != null) {
+                turmaRepository.ajustarQuantidadeAlunos(idTurmaAnterior, -1);
+                eventos.publishEvent(new VagaLiberadaEvent(idTurmaAnterior));
+            }
+            registroAlteracoes.registrar(Tabela.TURMAS);  // A quantidade de alunos aparece em GET /turmas
+        }
+        // O flush grava (e bloqueia) o aluno antes das linhas dos resumos, na mesma ordem das matrículas em lote
+        Aluno salvo = alunoRepository.saveAndFlush(aluno);
+        resumoMensalidade.registrar(anterior, ResumoMensalidadeService.Contribuicao.de(salvo));
+        return salvo;
+    }
+
+    /**
+     * Troca a turma e os cursos recebidos no JSON (apenas com ID, sem versão) por referências
+     * gerenciadas: sem isso o Hibernate os trataria como entidades novas por causa do @Version nulo.
+     */
+    private void referenciarAssociacoes(Aluno aluno) {
+        if (aluno.getTurma() != null) {
+            aluno.setTurma(aluno.getTurma().getId() == null ? null
+                : turmaRepository.getReferenceById(aluno.getTurma().getId()));
+        }
+        if (aluno.getCursos() != null) {
+            List<Curso> cursos = new ArrayList<>();
+            for (Curso curso : aluno.getCursos()) {
+                if (curso.getId() != null) {
+                    cursos.add(entityManager.getReference(Curso.class, curso.getId()));
+                }
+            }
+            aluno.setCursos(cursos);
+        }
+    }
+
+    // Método para matricular um aluno existente em uma turma (reservando a vaga)
+    @Transactional
+    public Aluno matricularNaTurma(Long codigo, Long idTurma) {
+        Aluno aluno = consultarAluno(codigo);
+        aluno.setTurma(turmaRepository.getReferenceById(idTurma));
+        return salvarAluno(aluno);
+    }
+
+    // Reserva uma vaga na turma; só consulta a turma de novo para diferenciar "lotada" de "inexistente"
+    private void reservarVaga(Long idTurma) {
+        if (turmaRepository.reservarVagas(idTurma, 1) == 0) {
+            if (!turmaRepository.existsById(idTurma)) {
+                throw new ResourceNotFoundException("Turma não encontrada com ID: " + idTurma);
+            }
+            throw new TurmaLotadaException("Turma lotada: não há vagas na turma com ID " + idTurma);
+        }
+    }
+
+    // Validações básicas antes de salvar (também usadas na importação em lote)
+    public void validarAluno(Aluno aluno) {
         if (aluno.getNome() == null || aluno.getNome().trim().isEmpty()) {
             throw new RuntimeException("Nome do aluno é obrigatório");
         }
-        
-        return alunoRepository.save(aluno);
+    }
+
+    // Confere a versão exigida pelo If-Match com a versão atual do aluno (null = sem condição)
+    public void verificarVersao(Aluno aluno, Long versaoEsperada) {
+        if (versaoEsperada != null && !versaoEsperada.equals(aluno.getVersao())) {
+            throw new VersaoDesatualizadaException(
+                "Aluno alterado por outra requisição (versão atual: " + aluno.getVersao() + ")");
+        }
     }
 
     // ✅ Método para buscar um aluno por ID (retorna Optional<Aluno>)
@@ -43,11 +244,13 @@ public class AlunoService {
             throw new IllegalArgumentException("ID do aluno inválido");
         }
         return alunoRepository.findById(id)
-            .orElseThrow(() -> new RuntimeException("Aluno não encontrado com ID: " + id));
+            .orElseThrow(() -> new ResourceNotFoundException("Aluno não encontrado com ID: " + id));
     }
 
-    // Método para excluir um aluno
-    public void excluirAluno(Long id) {
+    // Método para excluir um aluno (descontando-o da turma, cuja vaga vai para a lista de espera),
+    // só se ele ainda estiver na versão informada (If-Match; null = sem condição)
+    @Transactional
+    public void excluirAluno(Long id, Long versaoEsperada) {
         if (id == null || id <= 0) {
             throw new IllegalArgumentException("ID do aluno inválido");
         }
@@ -57,7 +260,17 @@ public class AlunoService {
         if (aluno.isEmpty()) {
             throw new RuntimeException("Aluno não encontrado para exclusão com ID: " + id);
         }
+        verificarVersao(aluno.get(), versaoEsperada);
+        ResumoMensalidadeService.Contribuicao anterior = resumoMensalidade.contribuicaoAtual(id);
         
+        listaEsperaRepository.removerDoAluno(id);
         alunoRepository.deleteById(id);
+        alunoRepository.flush();
+        resumoMensalidade.registrar(anterior, null);
+        if (aluno.get().getTurma() != null) {
+            turmaRepository.ajustarQuantidadeAlunos(aluno.get().getTurma().getId(), -1);
+            eventos.publishEvent(new VagaLiberadaEvent(aluno.get().getTurma().getId()));
+            registroAlteracoes.registrar(Tabela.TURMAS);
+        }
     }
 }
@@ -0,0 +1,170 @@
+package com.br.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.Year;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Calendário letivo usado para calcular a data de término das turmas.
+ *
+ * Dias letivos são os dias de semana (segunda a sexta) que não são feriados. Os feriados vêm de
+ * app.calendario.feriados, no formato MM-dd (todo ano) ou yyyy-MM-dd (só naquela data, como os
+ * feriados móveis). As horas de aula por dia dependem do turno da turma.
+ *
+ * Para cada ano é montada, uma única vez, a tabela acumulada de dias letivos (soma de prefixos):
+ * acumulado[i] = dias letivos do início do ano até o dia i, exclusive. Com ela, "a data depois de N
+ * horas de aula" é uma busca binária no ano em que a contagem termina, em vez de andar dia a dia.
+ */
+@Component
+public class CalendarioAcademico {
+
+    private final Set<MonthDay> feriadosAnuais = new HashSet<>();
+
+    private final Set<LocalDate> feriadosDatados = new HashSet<>();
+
+    private final int horasMatutino;
+
+    private final int horasVespertino;
+
+    private final int horasNoturno;
+
+    private final int horasPadrao;
+
+    private final ZoneId fusoHorario;
+
+    // Tabela de dias letivos de cada ano já consultado
+    private final Map<Integer, Ano> anos = new ConcurrentHashMap<>();
+
+    public CalendarioAcademico(@Value("${app.calendario.feriados:}") List<String> feriados,
+                               @Value("${app.calendario.horas-por-dia.matutino:4}") int horasMatutino,
+                               @Value("${app.calendario.horas-por-dia.vespertino:4}") int horasVespertino,
+                               @Value("${app.calendario.horas-por-dia.noturno:3}") int horasNoturno,
+                               @Value("${app.calendario.horas-por-dia.padrao:8}") int horasPadrao,
+                               @Value("${app.calendario.fuso-horario:UTC}") String fusoHorario) {
+        for (String feriado : feriados) {
+            String data = feriado.trim();
+            if (data.isEmpty()) {
+                continue;
+            }
+            if (data.length() == 5) {
+                feriadosAnuais.add(MonthDay.parse("--" + data));
+            } else {
+                feriadosDatados.add(LocalDate.parse(data));
+            }
+        }
+        this.horasMatutino = validarHoras(horasMatutino);
+        this.horasVespertino = validarHoras(horasVespertino);
+        this.horasNoturno = validarHoras(horasNoturno);
+        this.horasPadrao = validarHoras(horasPadrao);
+        this.fusoHorario = ZoneId.of(fusoHorario);
+    }
+
+    /**
+     * Data de término de uma turma que começa em "dataInicio" e tem "totalHoras" de aula no turno
+     * informado. O horário do dia da data de início é mantido. Sem horas, termina no próprio início.
+     */
+    public Date calcularDataTermino(Date dataInicio, long totalHoras, String turno) {
+        ZonedDateTime inicio = dataInicio.toInstant().atZone(fusoHorario);
+        LocalDate termino = dataAposHoras(inicio.toLocalDate(), totalHoras, turno);
+        return Date.from(inicio.with(termino).toInstant());
+    }
+
+    /**
+     * Último dia letivo necessário para cumprir "horas" de aula, contando a partir de "inicio"
+     * (inclusive; se "inicio" não for letivo, a contagem começa no próximo dia letivo).
+     */
+    public LocalDate dataAposHoras(LocalDate inicio, long horas, String turno) {
+        if (horas <= 0) {
+            return inicio;
+        }
+        int porDia = horasPorDia(turno);
+        long diasNecessarios = (horas + porDia - 1) / porDia;
+
+        // Dias letivos que já ficaram para trás no ano de início: procura-se o dia em que a
+        // contagem acumulada do ano chega a "jaPassados + diasNecessarios"
+        Ano ano = ano(inicio.getYear());
+        long alvo = ano.acumulado[inicio.getDayOfYear() - 1] + diasNecessarios;
+        while (alvo > ano.total()) {
+            alvo -= ano.total();
+            ano = ano(ano.numero + 1);
+        }
+        return ano.diaLetivo((int) alvo);
+    }
+
+    // Horas de aula por dia no turno (turno desconhecido ou nulo usa o valor padrão)
+    public int horasPorDia(String turno) {
+        if (turno == null) {
+            return horasPadrao;
+        }
+        return switch (turno.trim().toLowerCase(Locale.ROOT)) {
+            case "matutino" -> horasMatutino;
+            case "vespertino" -> horasVespertino;
+            case "noturno" -> horasNoturno;
+            default -> horasPadrao;
+        };
+    }
+
+    public boolean isDiaLetivo(LocalDate data) {
+        DayOfWeek diaDaSemana = data.getDayOfWeek();
+        return diaDaSemana != DayOfWeek.SATURDAY && diaDaSemana != DayOfWeek.SUNDAY
+            && !feriadosAnuais.contains(MonthDay.from(data)) && !feriadosDatados.contains(data);
+    }
+
+    private Ano ano(int numero) {
+        return anos.computeIfAbsent(numero, this::montarAno);
+    }
+
+    private Ano montarAno(int numero) {
+        int dias = Year.of(numero).length();
+        int[] acumulado = new int[dias + 1];
+        LocalDate data = LocalDate.of(numero, 1, 1);
+        for (int i = 0; i < dias; i++) {
+            acumulado[i + 1] = acumulado[i] + (isDiaLetivo(data) ? 1 : 0);
+            data = data.plusDays(1);
+        }
+        return new Ano(numero, acumulado);
+    }
+
+    private static int validarHoras(int horas) {
+        if (horas <= 0) {
+            throw new IllegalArgumentException("Horas de aula por dia devem ser positivas: " + horas);
+        }
+        return horas;
+    }
+
+    private record Ano(int numero, int[] acumulado) {
+
+        int total() {
+            return acumulado[acumulado.length - 1];
+        }
+
+        // Dia do ano em que a contagem de dias letivos chega a "n" (1 <= n <= total):
+        // a primeira posição com acumulado >= n, por busca binária
+        LocalDate diaLetivo(int n) {
+            int baixo = 1;
+            int alto = acumulado.length - 1;
+            while (baixo < alto) {
+                int meio = (baixo + alto) >>> 1;
+                if (acumulado[meio] < n) {
+                    baixo = meio + 1;
+                } else {
+                    alto = meio;
+                }
+            }
+            return LocalDate.ofYearDay(numero, baixo);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.br.service;
+
+/**
+ * Publicado pelo CursoService quando a carga horária de um curso muda. Tratado pelo
+ * RecalculoDataTerminoService antes do commit, na mesma transação da edição do curso.
+ */
+public record CargaHorariaAlteradaEvent(Long idCurso) {
+}
@@ -0,0 +1,240 @@
+package com.br.service;
+
+import com.br.dto.EstatisticasCatalogoDTO;
+import com.br.dto.ResolucaoCursosDTO;
+import com.br.model.Curso;
+import com.br.repository.CursoRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Catálogo de cursos mantido em memória, indexado por ID e por nome normalizado.
+ * O catálogo é pequeno e quase nunca muda, então é carregado com um único findAll()
+ * e invalidado pelo CursoService a cada inclusão, alteração ou exclusão de curso.
+ *
+ * Os cursos devolvidos são instâncias desanexadas (detached) compartilhadas entre
+ * requisições: servem para referenciar o curso em associações e não devem ser alterados.
+ *
+ * Os contadores de acertos, falhas e recargas também são publicados no Micrometer
+ * (catalogo.cursos.consultas, catalogo.cursos.recargas e catalogo.cursos.tamanho).
+ */
+@Component
+public class CursoCatalogo implements MeterBinder {
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    private volatile Indice indice;
+
+    // Incrementada a cada invalidação, para descartar uma carga iniciada antes dela
+    private final AtomicLong geracao = new AtomicLong();
+
+    private final AtomicLong acertos = new AtomicLong();
+    private final AtomicLong falhas = new AtomicLong();
+    private final AtomicLong recargas = new AtomicLong();
+
+    // Lock (e não synchronized) porque a carga consulta o banco: com threads virtuais,
+    // um bloco synchronized prenderia a thread portadora durante toda a consulta
+    private final ReentrantLock carga = new ReentrantLock();
+
+    // Busca um curso pelo ID
+    public Optional<Curso> buscarPorId(Long id) {
+        return registrar(Optional.ofNullable(id == null ? null : indice().porId.get(id)));
+    }
+
+    // Busca um curso pelo nome, ignorando acentos, maiúsculas/minúsculas e espaços extras
+    public Optional<Curso> buscarPorNome(String nome) {
+        return registrar(Optional.ofNullable(nome == null ? null : indice().porNome.get(Curso.normalizarNome(nome))));
+    }
+
+    /**
+     * Resolve de uma vez a lista de cursos recebida (com ID ou apenas nome), preservando a ordem.
+     * O que não está no catálogo (ex.: curso criado por outra instância) é buscado em no máximo
+     * duas consultas: uma por IDs (IN) e outra pelos nomes normalizados (IN, no índice único da coluna).
+     * IDs inexistentes são ignorados; os nomes inexistentes são devolvidos juntos.
+     */
+    public ResolucaoCursosDTO resolver(List<Curso> recebidos) {
+        Indice atual = indice();
+        Map<Long, Curso> porId = atual.porId;
+        Map<String, Curso> porNome = atual.porNome;
+
+        Set<Long> idsFaltantes = new LinkedHashSet<>();
+        Set<String> nomesFaltantes = new LinkedHashSet<>();
+        for (Curso recebido : recebidos) {
+            if (recebido.getId() != null) {
+                if (registrar(porId.get(recebido.getId())) == null) {
+                    idsFaltantes.add(recebido.getId());
+                }
+            } else if (temNome(recebido)) {
+                String nome = Curso.normalizarNome(recebido.getNome());
+                if (registrar(porNome.get(nome)) == null) {
+                    nomesFaltantes.add(nome);
+                }
+            }
+        }
+
+        if (!idsFaltantes.isEmpty() || !nomesFaltantes.isEmpty()) {
+            porId = new HashMap<>(porId);
+            porNome = new HashMap<>(porNome);
+            List<Curso> encontrados = new ArrayList<>();
+            if (!idsFaltantes.isEmpty()) {
+                encontrados.addAll(cursoRepository.findAllById(idsFaltantes));
+            }
+            if (!nomesFaltantes.isEmpty()) {
+                encontrados.addAll(cursoRepository.findByNomeNormalizadoIn(nomesFaltantes));
+            }
+            for (Curso curso : encontrados) {
+                porId.put(curso.getId(), curso);
+                if (curso.getNomeNormalizado() != null) {
+                    porNome.putIfAbsent(curso.getNomeNormalizado(), curso);
+                }
+            }
+            // O banco tem cursos que o catálogo não conhece: recarregar na próxima consulta
+            if (!encontrados.isEmpty()) {
+                descartar();
+            }
+        }
+
+        List<Curso> cursos = new ArrayList<>();
+        List<String> nomesNaoEncontrados = new ArrayList<>();
+        for (Curso recebido : recebidos) {
+            Curso curso = null;
+            if (recebido.getId() != null) {
+                curso = porId.get(recebido.getId());
+            } else if (temNome(recebido)) {
+                curso = porNome.get(Curso.normalizarNome(recebido.getNome()));
+                if (curso == null) {
+                    nomesNaoEncontrados.add(recebido.getNome().trim());
+                }
+            }
+            if (curso != null) {
+                cursos.add(curso);
+            }
+        }
+        return new ResolucaoCursosDTO(cursos, nomesNaoEncontrados);
+    }
+
+    // Nomes de todos os cursos do catálogo (usado nas mensagens de erro)
+    public List<String> nomesDisponiveis() {
+        return indice().nomes;
+    }
+
+    // Descarta o catálogo atual; a próxima consulta recarrega do banco.
+    // Dentro de uma transação, só depois do commit (antes disso uma recarga ainda leria os dados antigos)
+    public void invalidar() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    descartar();
+                }
+            });
+        } else {
+            descartar();
+        }
+    }
+
+    private void descartar() {
+        geracao.incrementAndGet();
+        indice = null;
+    }
+
+    public EstatisticasCatalogoDTO estatisticas() {
+        Indice atual = indice;
+        return new EstatisticasCatalogoDTO(acertos.get(), falhas.get(), recargas.get(),
+                atual == null ? 0 : atual.porId.size());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("catalogo.cursos.consultas", acertos, AtomicLong::get)
+            .description("Consultas ao catálogo de cursos em memória")
+            .tag("resultado", "acerto")
+            .register(registry);
+        FunctionCounter.builder("catalogo.cursos.consultas", falhas, AtomicLong::get)
+            .description("Consultas ao catálogo de cursos em memória")
+            .tag("resultado", "falha")
+            .register(registry);
+        FunctionCounter.builder("catalogo.cursos.recargas", recargas, AtomicLong::get)
+            .description("Cargas completas do catálogo a partir do banco")
+            .register(registry);
+        Gauge.builder("catalogo.cursos.tamanho", this, catalogo -> catalogo.estatisticas().cursosEmCache())
+            .description("Cursos atualmente no catálogo")
+            .register(registry);
+    }
+
+    private Optional<Curso> registrar(Optional<Curso> curso) {
+        registrar(curso.orElse(null));
+        return curso;
+    }
+
+    private Curso registrar(Curso curso) {
+        (curso != null ? acertos : falhas).incrementAndGet();
+        return curso;
+    }
+
+    private static boolean temNome(Curso curso) {
+        return curso.getNome() != null && !curso.getNome().trim().isEmpty();
+    }
+
+    private Indice indice() {
+        Indice atual = indice;
+        if (atual != null) {
+            return atual;
+        }
+        carga.lock();
+        try {
+            if (indice == null) {
+                long geracaoInicial = geracao.get();
+                Indice carregado = new Indice(cursoRepository.findAll());
+                recargas.incrementAndGet();
+                // Só publica se nenhuma escrita invalidou o catálogo durante a carga
+                if (geracao.get() != geracaoInicial) {
+                    return carregado;
+                }
+                indice = carregado;
+            }
+            return indice;
+        } finally {
+            carga.unlock();
+        }
+    }
+
+    private static final class Indice {
+
+        private final Map<Long, Curso> porId = new HashMap<>();
+        private final Map<String, Curso> porNome = new HashMap<>();
+        private final List<String> nomes;
+
+        private Indice(List<Curso> cursos) {
+            List<String> nomesCursos = new ArrayList<>();
+            for (Curso curso : cursos) {
+                porId.put(curso.getId(), curso);
+                if (curso.getNome() != null) {
+                    nomesCursos.add(curso.getNome());
+                }
+                if (curso.getNomeNormalizado() != null) {
+                    porNome.putIfAbsent(curso.getNomeNormalizado(), curso);
+                }
+            }
+            this.nomes = Collections.unmodifiableList(nomesCursos);
+        }
+    }
+}
@@ -1,12 +1,26 @@
 package com.br.service;
 
+import com.br.dto.CursoResumoDTO;
+import com.br.dto.EstatisticasCatalogoDTO;
+import com.br.dto.Pagina;
+import com.br.exception.CursoDuplicadoException;
+import com.br.exception.VersaoDesatualizadaException;
 import com.br.model.Curso;
 import com.br.repository.CursoRepository;
+import com.br.repository.projecao.ResultadoBuscaProjecao;
+import com.br.service.RegistroAlteracoes.Tabela;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class CursoService {
@@ -14,32 +28,122 @@ public class CursoService {
     @Autowired
     private CursoRepository cursoRepository;
 
+    @Autowired
+    private CursoCatalogo cursoCatalogo;
+
+    @Autowired
+    private RegistroAlteracoes registroAlteracoes;
+
+    @Autowired
+    private ApplicationEventPublisher eventos;
+
+    @Value("${app.paginacao.limite-padrao:50}")
+    private int limitePadrao;
+
+    @Value("${app.paginacao.limite-maximo:500}")
+    private int limiteMaximo;
+
     // Método para listar todos os cursos
     public List<Curso> listarCursos() {
         return cursoRepository.findAll();
     }
 
+    // Método para listar os cursos no formato de leitura da API
+    public List<CursoResumoDTO> listarResumos() {
+        return cursoRepository.listarResumos();
+    }
+
+    // Método para buscar cursos pelo nome (sem acento, por trecho ou aproximado), em ordem de relevância
+    public Pagina<CursoResumoDTO> buscarCursos(String q, Long cursor, Integer limite) {
+        TermoBusca busca = TermoBusca.de(q);
+        int tamanho = limite == null ? limitePadrao : Math.min(Math.max(limite, 1), limiteMaximo);
+        long deslocamento = cursor == null ? 0 : Math.max(cursor, 0);
+
+        List<ResultadoBuscaProjecao> encontrados = cursoRepository.buscarPorNome(
+                busca.termo(), busca.trecho(), busca.prefixo(), tamanho + 1, deslocamento);
+        Long proximoCursor = null;
+        if (encontrados.size() > tamanho) {
+            encontrados = encontrados.subList(0, tamanho);
+            proximoCursor = deslocamento + tamanho;
+        }
+
+        // Os cursos vêm do cache de segundo nível; a ordem é a da busca
+        List<Long> ids = encontrados.stream().map(ResultadoBuscaProjecao::getId).toList();
+        Map<Long, Curso> cursos = cursoRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Curso::getId, Function.identity()));
+        List<CursoResumoDTO> itens = ids.stream().map(cursos::get).filter(Objects::nonNull)
+            .map(CursoResumoDTO::de).toList();
+        return new Pagina<>(itens, proximoCursor, tamanho);
+    }
+
     // Método para salvar um novo curso
     public Curso salvarCurso(Curso curso) {
-        return cursoRepository.save(curso);
+        verificarNomeDisponivel(curso.getNomeNormalizado(), curso.getId());
+        Curso cursoSalvo = cursoRepository.save(curso);
+        cursoCatalogo.invalidar();
+        registroAlteracoes.registrar(Tabela.CURSOS);
+        return cursoSalvo;
     }
 
-    // Método para editar um curso existente
-    public Curso editarCurso(Long id, Curso dadosCurso) {
+    // Método para editar um curso existente, só se ainda estiver na versão informada (If-Match; null = sem condição).
+    // Se a carga horária mudar, as datas de término das turmas do curso são recalculadas na mesma transação
+    @Transactional
+    public Curso editarCurso(Long id, Curso dadosCurso, Long versaoEsperada) {
         Optional<Curso> cursoExistente = cursoRepository.findById(id);
         if (cursoExistente.isPresent()) {
             Curso curso = cursoExistente.get();
-            curso.setNome(dadosCurso.getNome());
+            verificarVersao(curso, versaoEsperada);
+            verificarNomeDisponivel(dadosCurso.getNomeNormalizado(), id);
+            boolean cargaAlterada = curso.getCargaHoraria() != dadosCurso.getCargaHoraria();
+            curso.setNome(dadosCurso.getNome());  // Atualiza também o nome normalizado
             curso.setCargaHoraria(dadosCurso.getCargaHoraria());  // Atualiza os detalhes do curso
-            return cursoRepository.save(curso);
+            Curso cursoSalvo = cursoRepository.save(curso);
+            if (cargaAlterada) {
+                eventos.publishEvent(new CargaHorariaAlteradaEvent(id));
+            }
+            cursoCatalogo.invalidar();
+            registroAlteracoes.registrar(Tabela.CURSOS, Tabela.TURMAS);  // As turmas listam os cursos
+            return cursoSalvo;
         } else {
             throw new RuntimeException("Curso não encontrado para atualização");
         }
     }
 
-    // Método para excluir um curso
-    public void excluirCurso(Long id) {
-        cursoRepository.deleteById(id);
+    // Método para excluir um curso (If-Match; null = sem condição)
+    public void excluirCurso(Long id, Long versaoEsperada) {
+        if (versaoEsperada != null) {
+            Curso curso = consultarCurso(id);
+            verificarVersao(curso, versaoEsperada);
+            cursoRepository.delete(curso);
+        } else {
+            cursoRepository.deleteById(id);
+        }
+        cursoCatalogo.invalidar();
+        registroAlteracoes.registrar(Tabela.CURSOS, Tabela.TURMAS);
+    }
+
+    // Consulta pelo índice único do nome normalizado; o índice ainda barra uma inclusão concorrente
+    private void verificarNomeDisponivel(String nomeNormalizado, Long id) {
+        if (nomeNormalizado == null) {
+            return;
+        }
+        cursoRepository.findByNomeNormalizado(nomeNormalizado)
+            .filter(existente -> !existente.getId().equals(id))
+            .ifPresent(existente -> {
+                throw new CursoDuplicadoException("Já existe um curso com esse nome: " + existente.getNome());
+            });
+    }
+
+    private void verificarVersao(Curso curso, Long versaoEsperada) {
+        if (versaoEsperada != null && !versaoEsperada.equals(curso.getVersao())) {
+            throw new VersaoDesatualizadaException(
+                "Curso alterado por outra requisição (versão atual: " + curso.getVersao() + ")");
+        }
+    }
+
+    // Método para consultar as estatísticas do catálogo de cursos em memória
+    public EstatisticasCatalogoDTO estatisticasCatalogo() {
+        return cursoCatalogo.estatisticas();
     }
 
     // Método para consultar um curso por ID
@@ -47,4 +151,10 @@ public class CursoService {
         Optional<Curso> cursoExistente = cursoRepository.findById(id);
         return cursoExistente.orElseThrow(() -> new RuntimeException("Curso não encontrado"));
     }
+
+    // Método para consultar um curso por ID no formato de leitura da API
+    public CursoResumoDTO consultarResumo(Long id) {
+        return cursoRepository.buscarResumo(id)
+            .orElseThrow(() -> new RuntimeException("Curso não encontrado"));
+    }
 }
@@ -0,0 +1,186 @@
+package com.br.service;
+
+import com.br.repository.AlunoRepository;
+import com.br.repository.TurmaRepository;
+import com.br.repository.projecao.AlunoProjecao;
+import com.br.repository.projecao.MatriculaProjecao;
+import com.br.repository.projecao.TurmaProjecao;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Exportação de alunos, turmas e matrículas em CSV ou NDJSON.
+ *
+ * As linhas são lidas com um cursor do banco (Stream com fetch size) dentro de uma transação
+ * somente leitura e escritas direto na resposta, uma a uma: o consumo de memória não depende
+ * da quantidade de registros e o cabeçalho é enviado antes da primeira linha ser lida.
+ */
+@Service
+public class ExportacaoService {
+
+    public enum Formato { CSV, NDJSON }
+
+    // Coluna exportada: nome no cabeçalho/JSON e como obter o valor da linha
+    private record Coluna<T>(String nome, Function<T, Object> valor) {
+    }
+
+    private static final List<Coluna<AlunoProjecao>> COLUNAS_ALUNO = List.of(
+        new Coluna<>("codigo", AlunoProjecao::getCodigo),
+        new Coluna<>("nome", AlunoProjecao::getNome),
+        new Coluna<>("dataMatricula", AlunoProjecao::getDataMatricula),
+        new Coluna<>("mensalidade", AlunoProjecao::getMensalidade),
+        new Coluna<>("semestre", AlunoProjecao::getSemestre),
+        new Coluna<>("bolsista", AlunoProjecao::getBolsista),
+        new Coluna<>("turma", AlunoProjecao::getIdTurma),
+        new Coluna<>("turno", AlunoProjecao::getTurno)
+    );
+
+    private static final List<Coluna<TurmaProjecao>> COLUNAS_TURMA = List.of(
+        new Coluna<>("id", TurmaProjecao::getId),
+        new Coluna<>("turno", TurmaProjecao::getTurno),
+        new Coluna<>("dataInicio", TurmaProjecao::getDataInicio),
+        new Coluna<>("dataFim", TurmaProjecao::getDataFim),
+        new Coluna<>("quantidadeAlunos", TurmaProjecao::getQuantidadeAlunos),
+        new Coluna<>("capacidade", TurmaProjecao::getCapacidade)
+    );
+
+    private static final List<Coluna<MatriculaProjecao>> COLUNAS_MATRICULA = List.of(
+        new Coluna<>("codigoAluno", MatriculaProjecao::getCodigoAluno),
+        new Coluna<>("nomeAluno", MatriculaProjecao::getNomeAluno),
+        new Coluna<>("idCurso", MatriculaProjecao::getIdCurso),
+        new Coluna<>("nomeCurso", MatriculaProjecao::getNomeCurso)
+    );
+
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    @Autowired
+    private TurmaRepository turmaRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    public void exportarAlunos(OutputStream saida, Formato formato) throws IOException {
+        exportar(saida, formato, COLUNAS_ALUNO, alunoRepository::percorrerAlunos);
+    }
+
+    public void exportarTurmas(OutputStream saida, Formato formato) throws IOException {
+        exportar(saida, formato, COLUNAS_TURMA, turmaRepository::percorrerTurmas);
+    }
+
+    public void exportarMatriculas(OutputStream saida, Formato formato) throws IOException {
+        exportar(saida, formato, COLUNAS_MATRICULA, alunoRepository::percorrerMatriculas);
+    }
+
+    private <T> void exportar(OutputStream saida, Formato formato, List<Coluna<T>> colunas,
+                              Supplier<Stream<T>> consulta) throws IOException {
+        Writer escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), 64 * 1024);
+        JsonGenerator json = null;
+        if (formato == Formato.NDJSON) {
+            // O flush por linha só esvazia o gerador no buffer; a rede recebe blocos de 64 KB
+            json = objectMapper.getFactory().createGenerator(escritor)
+                .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .setRootValueSeparator(null);
+        }
+        JsonGenerator gerador = json;
+
+        if (formato == Formato.CSV) {
+            escreverCabecalhoCsv(escritor, colunas);
+        }
+        escritor.flush();
+
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.setReadOnly(true);
+        try {
+            transacao.executeWithoutResult(status -> {
+                try (Stream<T> linhas = consulta.get()) {
+                    linhas.forEach(linha -> {
+                        try {
+                            if (gerador != null) {
+                                escreverJson(gerador, escritor, colunas, linha);
+                            } else {
+                                escreverCsv(escritor, colunas, linha);
+                            }
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        if (json != null) {
+            json.flush();
+        }
+        escritor.flush();
+    }
+
+    private static <T> void escreverCabecalhoCsv(Writer escritor, List<Coluna<T>> colunas) throws IOException {
+        for (int i = 0; i < colunas.size(); i++) {
+            if (i > 0) {
+                escritor.write(',');
+            }
+            escritor.write(colunas.get(i).nome());
+        }
+        escritor.write('\n');
+    }
+
+    private static <T> void escreverCsv(Writer escritor, List<Coluna<T>> colunas, T linha) throws IOException {
+        for (int i = 0; i < colunas.size(); i++) {
+            if (i > 0) {
+                escritor.write(',');
+            }
+            Object valor = formatar(colunas.get(i).valor().apply(linha));
+            if (valor != null) {
+                escritor.write(escaparCsv(valor.toString()));
+            }
+        }
+        escritor.write('\n');
+    }
+
+    private static <T> void escreverJson(JsonGenerator json, Writer escritor, List<Coluna<T>> colunas, T linha)
+            throws IOException {
+        json.writeStartObject();
+        for (Coluna<T> coluna : colunas) {
+            json.writeObjectField(coluna.nome(), formatar(coluna.valor().apply(linha)));
+        }
+        json.writeEndObject();
+        json.flush();
+        escritor.write('\n');
+    }
+
+    // Datas em ISO-8601 (UTC), iguais nos dois formatos
+    private static Object formatar(Object valor) {
+        return valor instanceof Date data ? data.toInstant().toString() : valor;
+    }
+
+    private static String escaparCsv(String valor) {
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,404 @@
+package com.br.service;
+
+import com.br.dto.RelatorioImportacaoDTO;
+import com.br.dto.ResolucaoCursosDTO;
+import com.br.dto.ResultadoImportacaoDTO;
+import com.br.exception.TurmaLotadaException;
+import com.br.model.Aluno;
+import com.br.model.Curso;
+import com.br.model.Turma;
+import com.br.repository.TurmaRepository;
+import com.br.service.RegistroAlteracoes.Tabela;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Importação em lote de alunos (JSON array, NDJSON ou CSV).
+ *
+ * O conteúdo é lido em streaming e gravado em blocos de "app.importacao.tamanho-lote" registros,
+ * um bloco por transação, aproveitando o batching JDBC do Hibernate (hibernate.jdbc.batch_size).
+ * Cada linha é validada com as mesmas regras do AlunoService.salvarAluno; se um bloco falhar no banco,
+ * as linhas dele são regravadas uma a uma para identificar exatamente quais falharam.
+ *
+ * Colunas do CSV (cabeçalho obrigatório, separador vírgula):
+ * nome,dataMatricula,mensalidade,semestre,bolsista,turma,cursos
+ * onde "dataMatricula" é yyyy-MM-dd, "turma" é o ID da turma e "cursos" é uma lista de IDs
+ * ou nomes de cursos separados por ponto e vírgula.
+ */
+@Service
+public class ImportacaoAlunoService {
+
+    public static final String NDJSON = "application/x-ndjson";
+    public static final String CSV = "text/csv";
+
+    @Autowired
+    private AlunoService alunoService;
+
+    @Autowired
+    private CursoCatalogo cursoCatalogo;
+
+    @Autowired
+    private TurmaRepository turmaRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private RegistroAlteracoes registroAlteracoes;
+
+    @Autowired
+    private ResumoMensalidadeService resumoMensalidade;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.importacao.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    // Linha lida do arquivo: o aluno ou o erro de leitura
+    private record LinhaLida(int numero, Aluno aluno, String erro) {
+    }
+
+    // Método para importar alunos a partir do conteúdo enviado, conforme o tipo (JSON, NDJSON ou CSV)
+    public RelatorioImportacaoDTO importar(InputStream conteudo, String tipoConteudo) throws IOException {
+        List<ResultadoImportacaoDTO> resultados = new ArrayList<>();
+        List<LinhaLida> lote = new ArrayList<>();
+
+        Consumer<LinhaLida> receber = linha -> {
+            if (linha.erro() != null) {
+                resultados.add(ResultadoImportacaoDTO.rejeitado(linha.numero(), linha.erro()));
+                return;
+            }
+            lote.add(linha);
+            if (lote.size() >= tamanhoLote) {
+                gravarLote(lote, resultados);
+                lote.clear();
+            }
+        };
+
+        String tipo = tipoConteudo == null ? "" : tipoConteudo.toLowerCase(Locale.ROOT);
+        if (tipo.startsWith(CSV)) {
+            lerCsv(conteudo, receber);
+        } else if (tipo.startsWith(NDJSON)) {
+            lerNdjson(conteudo, receber);
+        } else {
+            lerJson(conteudo, receber);
+        }
+
+        if (!lote.isEmpty()) {
+            gravarLote(lote, resultados);
+        }
+        resultados.sort((a, b) -> Integer.compare(a.linha(), b.linha()));
+        return RelatorioImportacaoDTO.de(resultados);
+    }
+
+    // JSON: um array de alunos (ou vários objetos seguidos)
+    private void lerJson(InputStream conteudo, Consumer<LinhaLida> receber) throws IOException {
+        ObjectReader leitor = objectMapper.readerFor(Aluno.class);
+        int numero = 0;
+        try (MappingIterator<Aluno> alunos = leitor.readValues(conteudo)) {
+            while (alunos.hasNext()) {
+                numero++;
+                LinhaLida lida;
+                try {
+                    lida = new LinhaLida(numero, alunos.next(), null);
+                } catch (RuntimeJsonMappingException e) {
+                    lida = new LinhaLida(numero, null, "JSON inválido: " + e.getMessage());
+                }
+                receber.accept(lida);
+            }
+        } catch (JsonProcessingException | RuntimeJsonMappingException e) {
+            // Erro de sintaxe: não é possível continuar lendo o restante do array
+            receber.accept(new LinhaLida(numero + 1, null, "JSON inválido, importação interrompida: " + e.getMessage()));
+        }
+    }
+
+    // NDJSON: um aluno (objeto JSON) por linha; linhas em branco são ignoradas
+    private void lerNdjson(InputStream conteudo, Consumer<LinhaLida> receber) throws IOException {
+        ObjectReader leitor = objectMapper.readerFor(Aluno.class);
+        BufferedReader linhas = new BufferedReader(new InputStreamReader(conteudo, StandardCharsets.UTF_8));
+        int numero = 0;
+        String linha;
+        while ((linha = linhas.readLine()) != null) {
+            if (linha.isBlank()) {
+                continue;
+            }
+            numero++;
+            LinhaLida lida;
+            try {
+                lida = new LinhaLida(numero, leitor.readValue(linha), null);
+            } catch (JsonProcessingException e) {
+                lida = new LinhaLida(numero, null, "JSON inválido: " + e.getOriginalMessage());
+            }
+            receber.accept(lida);
+        }
+    }
+
+    // CSV com cabeçalho; as colunas são localizadas pelo nome, em qualquer ordem
+    private void lerCsv(InputStream conteudo, Consumer<LinhaLida> receber) throws IOException {
+        BufferedReader linhas = new BufferedReader(new InputStreamReader(conteudo, StandardCharsets.UTF_8));
+        String cabecalho = linhas.readLine();
+        if (cabecalho == null) {
+            return;
+        }
+        if (cabecalho.startsWith("\uFEFF")) {
+            cabecalho = cabecalho.substring(1);
+        }
+        Map<String, Integer> colunas = new HashMap<>();
+        List<String> nomesColunas = separarCsv(cabecalho);
+        for (int i = 0; i < nomesColunas.size(); i++) {
+            colunas.put(nomesColunas.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+
+        int numero = 0;
+        String linha;
+        while ((linha = linhas.readLine()) != null) {
+            if (linha.isBlank()) {
+                continue;
+            }
+            numero++;
+            LinhaLida lida;
+            try {
+                lida = new LinhaLida(numero, converterCsv(separarCsv(linha), colunas), null);
+            } catch (IllegalArgumentException | DateTimeException e) {
+                lida = new LinhaLida(numero, null, "CSV inválido: " + e.getMessage());
+            }
+            receber.accept(lida);
+        }
+    }
+
+    private Aluno converterCsv(List<String> valores, Map<String, Integer> colunas) {
+        Aluno aluno = new Aluno();
+        aluno.setNome(valorCsv(valores, colunas, "nome"));
+
+        String dataMatricula = valorCsv(valores, colunas, "datamatricula");
+        if (dataMatricula != null) {
+            aluno.setDataMatricula(Date.from(LocalDate.parse(dataMatricula)
+                .atStartOfDay(ZoneId.systemDefault()).toInstant()));
+        }
+        String mensalidade = valorCsv(valores, colunas, "mensalidade");
+        if (mensalidade != null) {
+            aluno.setMensalidade(Double.valueOf(mensalidade));
+        }
+        String semestre = valorCsv(valores, colunas, "semestre");
+        if (semestre != null) {
+            aluno.setSemestre(Integer.valueOf(semestre));
+        }
+        String bolsista = valorCsv(valores, colunas, "bolsista");
+        if (bolsista != null) {
+            aluno.setBolsista(Boolean.valueOf(bolsista));
+        }
+        String turma = valorCsv(valores, colunas, "turma");
+        if (turma != null) {
+            Turma referencia = new Turma();
+            referencia.setId(Long.valueOf(turma));
+            aluno.setTurma(referencia);
+        }
+        String cursos = valorCsv(valores, colunas, "cursos");
+        if (cursos != null) {
+            List<Curso> lista = new ArrayList<>();
+            for (String item : cursos.split(";")) {
+                if (item.isBlank()) {
+                    continue;
+                }
+                Curso curso = new Curso();
+                if (item.trim().chars().allMatch(Character::isDigit)) {
+                    curso.setId(Long.valueOf(item.trim()));
+                } else {
+                    curso.setNome(item.trim());
+                }
+                lista.add(curso);
+            }
+            aluno.setCursos(lista);
+        }
+        return aluno;
+    }
+
+    private static String valorCsv(List<String> valores, Map<String, Integer> colunas, String coluna) {
+        Integer indice = colunas.get(coluna);
+        if (indice == null || indice >= valores.size()) {
+            return null;
+        }
+        String valor = valores.get(indice).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    // Separa uma linha CSV respeitando campos entre aspas ("a, b") e aspas escapadas ("")
+    private static List<String> separarCsv(String linha) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    campo.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    campo.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == ',') {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else {
+                campo.append(c);
+            }
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+
+    // Valida e grava um bloco de linhas em uma única transação
+    private void gravarLote(List<LinhaLida> lote, List<ResultadoImportacaoDTO> resultados) {
+        List<LinhaLida> validas = new ArrayList<>();
+        Set<Long> turmasExistentes = buscarTurmasExistentes(lote);
+        for (LinhaLida linha : lote) {
+            String erro = preparar(linha.aluno(), turmasExistentes);
+            if (erro == null) {
+                validas.add(linha);
+            } else {
+                resultados.add(ResultadoImportacaoDTO.rejeitado(linha.numero(), erro));
+            }
+        }
+        if (validas.isEmpty()) {
+            return;
+        }
+
+        try {
+            persistir(validas);
+            validas.forEach(linha ->
+                resultados.add(ResultadoImportacaoDTO.importado(linha.numero(), linha.aluno().getCodigo())));
+        } catch (RuntimeException e) {
+            // O bloco foi desfeito: regravar linha a linha para isolar as que falham no banco
+            for (LinhaLida linha : validas) {
+                linha.aluno().setCodigo(null);
+                try {
+                    persistir(List.of(linha));
+                    resultados.add(ResultadoImportacaoDTO.importado(linha.numero(), linha.aluno().getCodigo()));
+                } catch (RuntimeException erroLinha) {
+                    linha.aluno().setCodigo(null);
+                    resultados.add(ResultadoImportacaoDTO.rejeitado(linha.numero(), mensagem(erroLinha)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Reserva as vagas de cada turma do bloco (um UPDATE condicional por turma) e grava as linhas.
+     * Se alguma turma não comportar todas as linhas, o bloco é desfeito e regravado linha a linha,
+     * rejeitando só os alunos que excederem a capacidade. Os resumos de mensalidade recebem o bloco
+     * inteiro de uma vez (um ajuste por turma, semestre e bolsista e por curso).
+     */
+    private void persistir(List<LinhaLida> linhas) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<Long, Long> novosPorTurma = new HashMap<>();
+            for (LinhaLida linha : linhas) {
+                Turma turma = linha.aluno().getTurma();
+                if (turma != null) {
+                    novosPorTurma.merge(turma.getId(), 1L, Long::sum);
+                }
+            }
+            novosPorTurma.forEach((idTurma, quantidade) -> {
+                if (turmaRepository.reservarVagas(idTurma, quantidade) == 0) {
+                    throw new TurmaLotadaException("Turma lotada: não há vagas na turma com ID " + idTurma);
+                }
+            });
+
+            for (LinhaLida linha : linhas) {
+                Aluno aluno = linha.aluno();
+                if (aluno.getTurma() != null) {
+                    aluno.setTurma(entityManager.getReference(Turma.class, aluno.getTurma().getId()));
+                }
+                entityManager.persist(aluno);
+            }
+            entityManager.flush();
+            resumoMensalidade.registrarNovos(linhas.stream().map(LinhaLida::aluno).toList());
+            entityManager.clear();
+            if (!novosPorTurma.isEmpty()) {
+                registroAlteracoes.registrar(Tabela.TURMAS);
+            }
+        });
+    }
+
+    // Consulta de uma vez quais turmas referenciadas pelo bloco existem
+    private Set<Long> buscarTurmasExistentes(List<LinhaLida> lote) {
+        Set<Long> ids = new HashSet<>();
+        for (LinhaLida linha : lote) {
+            Turma turma = linha.aluno().getTurma();
+            if (turma != null && turma.getId() != null) {
+                ids.add(turma.getId());
+            }
+        }
+        return ids.isEmpty() ? Set.of() : new HashSet<>(turmaRepository.buscarIdsExistentes(ids));
+    }
+
+    // Aplica as regras do salvarAluno e resolve turma e cursos; devolve a mensagem de erro, se houver
+    private String preparar(Aluno aluno, Set<Long> turmasExistentes) {
+        try {
+            alunoService.validarAluno(aluno);
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+        aluno.setCodigo(null);
+
+        if (aluno.getTurma() != null) {
+            Long idTurma = aluno.getTurma().getId();
+            if (idTurma == null) {
+                aluno.setTurma(null);
+            } else if (!turmasExistentes.contains(idTurma)) {
+                return "Turma não encontrada com ID: " + idTurma;
+            }
+        }
+
+        if (aluno.getCursos() != null && !aluno.getCursos().isEmpty()) {
+            ResolucaoCursosDTO resolucao = cursoCatalogo.resolver(aluno.getCursos());
+            if (!resolucao.nomesNaoEncontrados().isEmpty()) {
+                return "Curso(s) não encontrado(s): '" + String.join("', '", resolucao.nomesNaoEncontrados()) + "'";
+            }
+            aluno.setCursos(new ArrayList<>(resolucao.cursos()));
+        }
+        return null;
+    }
+
+    private static String mensagem(Throwable erro) {
+        Throwable causa = erro;
+        while (causa.getCause() != null && causa.getCause() != causa) {
+            causa = causa.getCause();
+        }
+        return causa.getMessage() != null ? causa.getMessage() : erro.toString();
+    }
+}
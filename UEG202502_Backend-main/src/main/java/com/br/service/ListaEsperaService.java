@@ -0,0 +1,208 @@
+package com.br.service;
+
+import com.br.dto.PosicaoEsperaDTO;
+import com.br.exception.ResourceNotFoundException;
+import com.br.model.Aluno;
+import com.br.model.ListaEspera;
+import com.br.repository.AlunoRepository;
+import com.br.repository.ListaEsperaRepository;
+import com.br.repository.TurmaRepository;
+import com.br.repository.projecao.EsperaProjecao;
+import com.br.service.RegistroAlteracoes.Tabela;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lista de espera (FIFO) das turmas lotadas, com promoção automática.
+ *
+ * Quem libera vaga (exclusão de aluno, troca de turma, aumento de capacidade) só publica um
+ * VagaLiberadaEvent: depois do commit a turma entra no conjunto de pendentes e a requisição
+ * termina. Uma tarefa agendada esvazia esse conjunto em lotes, lendo o início da fila de cada
+ * turma pelo índice e promovendo cada aluno em uma transação curta:
+ * remove a inscrição (0 linhas = cancelada ou já promovida), reserva a vaga com o UPDATE
+ * condicional da turma e só então move o aluno. Se a turma lotar de novo, a transação é
+ * desfeita e o restante da fila continua aguardando. Se o aluno for alterado por outra requisição
+ * entre a leitura e a troca de turma, a transação também é desfeita e a turma volta para o próximo ciclo.
+ */
+@Service
+public class ListaEsperaService {
+
+    private static final Logger log = LoggerFactory.getLogger(ListaEsperaService.class);
+
+    private enum Resultado { PROMOVIDO, IGNORADO, LOTADA, ALTERADO }
+
+    @Autowired
+    private ListaEsperaRepository listaEsperaRepository;
+
+    @Autowired
+    private TurmaRepository turmaRepository;
+
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventos;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private RegistroAlteracoes registroAlteracoes;
+
+    @Autowired
+    private ResumoMensalidadeService resumoMensalidade;
+
+    @Value("${app.lista-espera.tamanho-lote:100}")
+    private int tamanhoLote;
+
+    // Turmas que podem ter vaga e alguém aguardando, a processar no próximo ciclo
+    private final Set<Long> turmasPendentes = ConcurrentHashMap.newKeySet();
+
+    // Método para listar a fila de espera de uma turma, na ordem de promoção
+    public List<PosicaoEsperaDTO> listarFila(Long idTurma) {
+        if (!turmaRepository.existsById(idTurma)) {
+            throw new ResourceNotFoundException("Turma não encontrada com ID: " + idTurma);
+        }
+        List<EsperaProjecao> fila = listaEsperaRepository.buscarFila(idTurma, Pageable.unpaged());
+        List<PosicaoEsperaDTO> posicoes = new ArrayList<>(fila.size());
+        for (int i = 0; i < fila.size(); i++) {
+            EsperaProjecao espera = fila.get(i);
+            posicoes.add(new PosicaoEsperaDTO(espera.getCodigoAluno(), espera.getNomeAluno(), i + 1,
+                    espera.getDataInscricao()));
+        }
+        return posicoes;
+    }
+
+    // Método para inscrever um aluno na lista de espera de uma turma
+    @Transactional
+    public PosicaoEsperaDTO inscrever(Long idTurma, Long codigoAluno) {
+        if (!turmaRepository.existsById(idTurma)) {
+            throw new ResourceNotFoundException("Turma não encontrada com ID: " + idTurma);
+        }
+        Aluno aluno = alunoRepository.findById(codigoAluno)
+            .orElseThrow(() -> new ResourceNotFoundException("Aluno não encontrado com ID: " + codigoAluno));
+        if (aluno.getTurma() != null && Objects.equals(aluno.getTurma().getId(), idTurma)) {
+            throw new RuntimeException("Aluno já está matriculado nesta turma");
+        }
+        if (listaEsperaRepository.existsByTurmaIdAndAlunoCodigo(idTurma, codigoAluno)) {
+            throw new RuntimeException("Aluno já está na lista de espera desta turma");
+        }
+
+        ListaEspera espera = listaEsperaRepository.save(
+                new ListaEspera(turmaRepository.getReferenceById(idTurma), aluno));
+        // Se a turma tiver vaga, o aluno é promovido no próximo ciclo (respeitando a fila)
+        eventos.publishEvent(new VagaLiberadaEvent(idTurma));
+
+        return new PosicaoEsperaDTO(codigoAluno, aluno.getNome(),
+                listaEsperaRepository.contarAte(idTurma, espera.getId()), espera.getDataInscricao());
+    }
+
+    // Método para retirar um aluno da lista de espera de uma turma
+    @Transactional
+    public void cancelar(Long idTurma, Long codigoAluno) {
+        if (listaEsperaRepository.removerDaTurma(idTurma, codigoAluno) == 0) {
+            throw new ResourceNotFoundException("Aluno não está na lista de espera desta turma");
+        }
+    }
+
+    // Registra a turma para promoção depois do commit de quem liberou a vaga
+    @TransactionalEventListener(fallbackExecution = true)
+    public void registrarVaga(VagaLiberadaEvent evento) {
+        turmasPendentes.add(evento.idTurma());
+    }
+
+    // Ao iniciar, retoma as filas que ficaram pendentes (o conjunto em memória não sobrevive ao reinício)
+    @EventListener(ApplicationReadyEvent.class)
+    public void retomarPendentes() {
+        turmasPendentes.addAll(listaEsperaRepository.buscarTurmasComEspera());
+    }
+
+    // Promove os alunos das turmas pendentes; executada em intervalos, nunca em paralelo consigo mesma
+    @Scheduled(fixedDelayString = "${app.lista-espera.intervalo-ms:1000}")
+    public void processarPromocoes() {
+        Iterator<Long> pendentes = turmasPendentes.iterator();
+        while (pendentes.hasNext()) {
+            Long idTurma = pendentes.next();
+            pendentes.remove();
+            try {
+                promoverDaTurma(idTurma);
+            } catch (RuntimeException e) {
+                // A turma volta para o conjunto e é tentada de novo no próximo ciclo; as demais seguem
+                log.warn("Falha ao promover a lista de espera da turma {}: {}", idTurma, e.toString());
+                turmasPendentes.add(idTurma);
+            }
+        }
+    }
+
+    private void promoverDaTurma(Long idTurma) {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        List<EsperaProjecao> fila = listaEsperaRepository.buscarFila(idTurma, PageRequest.of(0, tamanhoLote));
+        for (EsperaProjecao espera : fila) {
+            Resultado resultado = transacao.execute(status -> {
+                Resultado r = promover(idTurma, espera);
+                if (r == Resultado.LOTADA || r == Resultado.ALTERADO) {
+                    status.setRollbackOnly();
+                }
+                return r;
+            });
+            if (resultado == Resultado.LOTADA) {
+                return;
+            }
+            // O aluno mudou durante a promoção: tenta de novo no próximo ciclo, com os dados já gravados
+            if (resultado == Resultado.ALTERADO) {
+                turmasPendentes.add(idTurma);
+                return;
+            }
+        }
+        // Lote inteiro promovido: pode haver mais vagas e mais alunos, continua no próximo ciclo
+        if (fila.size() == tamanhoLote) {
+            turmasPendentes.add(idTurma);
+        }
+    }
+
+    private Resultado promover(Long idTurma, EsperaProjecao espera) {
+        if (listaEsperaRepository.remover(espera.getId()) == 0) {
+            return Resultado.IGNORADO;
+        }
+        Long codigoAluno = espera.getCodigoAluno();
+        ResumoMensalidadeService.Contribuicao anterior = resumoMensalidade.contribuicaoAtual(codigoAluno);
+        Long idTurmaAnterior = anterior == null ? null : anterior.idTurma();
+        if (anterior == null || idTurma.equals(idTurmaAnterior)) {
+            return Resultado.IGNORADO;
+        }
+        if (turmaRepository.reservarVagas(idTurma, 1) == 0) {
+            return Resultado.LOTADA;
+        }
+        if (alunoRepository.atualizarTurma(codigoAluno, turmaRepository.getReferenceById(idTurma),
+                anterior.versao()) == 0) {
+            return Resultado.ALTERADO;
+        }
+        resumoMensalidade.registrar(anterior, anterior.naTurma(idTurma));
+        if (idTurmaAnterior != null) {
+            turmaRepository.ajustarQuantidadeAlunos(idTurmaAnterior, -1);
+            eventos.publishEvent(new VagaLiberadaEvent(idTurmaAnterior));
+        }
+        registroAlteracoes.registrar(Tabela.TURMAS);
+        return Resultado.PROMOVIDO;
+    }
+}
@@ -0,0 +1,116 @@
+package com.br.service;
+
+import com.br.dto.MatriculaLoteDTO;
+import com.br.dto.ResultadoMatriculaDTO;
+import com.br.exception.ResourceNotFoundException;
+import com.br.repository.AlunoRepository;
+import com.br.repository.CursoRepository;
+import com.br.repository.TurmaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * Matrículas (tabela matricula) incluídas e removidas em lote, sem carregar os alunos.
+ *
+ * Cada operação grava todos os pares aluno x curso com instruções em conjunto: um INSERT ... SELECT
+ * (ou DELETE) para os alunos das turmas informadas e um por lote de até app.matricula.tamanho-lote
+ * alunos informados diretamente. Matricular uma turma inteira em um curso é uma única instrução.
+ * Ao final, o resumo de mensalidades dos cursos envolvidos é recalculado pela tabela matricula.
+ */
+@Service
+public class MatriculaService {
+
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    @Autowired
+    private TurmaRepository turmaRepository;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private ResumoMensalidadeService resumoMensalidade;
+
+    @Value("${app.matricula.tamanho-lote:1000}")
+    private int tamanhoLote;
+
+    // Método para matricular os alunos (e os alunos das turmas) nos cursos; pares já existentes são ignorados
+    @Transactional
+    public ResultadoMatriculaDTO matricular(MatriculaLoteDTO lote) {
+        return aplicar(lote, alunoRepository::matricular, alunoRepository::matricularTurmas);
+    }
+
+    // Método para cancelar as matrículas dos alunos (e dos alunos das turmas) nos cursos
+    @Transactional
+    public ResultadoMatriculaDTO cancelar(MatriculaLoteDTO lote) {
+        return aplicar(lote, alunoRepository::cancelarMatriculas, alunoRepository::cancelarMatriculasDasTurmas);
+    }
+
+    private ResultadoMatriculaDTO aplicar(MatriculaLoteDTO lote,
+                                          BiFunction<Collection<Long>, Collection<Long>, Integer> porAlunos,
+                                          BiFunction<Collection<Long>, Collection<Long>, Integer> porTurmas) {
+        Set<Long> alunos = idsInformados(lote.alunos());
+        Set<Long> turmas = idsInformados(lote.turmas());
+        Set<Long> cursos = idsInformados(lote.cursos());
+        if (cursos.isEmpty() || (alunos.isEmpty() && turmas.isEmpty())) {
+            throw new IllegalArgumentException("Informe os cursos e os alunos ou turmas");
+        }
+        verificarExistentes("Curso(s)", cursos, cursoRepository.buscarIdsExistentes(cursos));
+        if (!turmas.isEmpty()) {
+            verificarExistentes("Turma(s)", turmas, turmaRepository.buscarIdsExistentes(turmas));
+        }
+        List<List<Long>> lotesAlunos = dividir(alunos);
+        for (List<Long> codigos : lotesAlunos) {
+            verificarExistentes("Aluno(s)", codigos, alunoRepository.buscarCodigosExistentes(codigos));
+        }
+
+        int matriculas = 0;
+        if (!turmas.isEmpty()) {
+            alunoRepository.incrementarVersaoDasTurmas(turmas);
+            matriculas += porTurmas.apply(turmas, cursos);
+        }
+        for (List<Long> codigos : lotesAlunos) {
+            alunoRepository.incrementarVersao(codigos);
+            matriculas += porAlunos.apply(codigos, cursos);
+        }
+        resumoMensalidade.recalcularCursos(cursos);
+        return new ResultadoMatriculaDTO(matriculas);
+    }
+
+    private static Set<Long> idsInformados(List<Long> ids) {
+        Set<Long> informados = new LinkedHashSet<>();
+        if (ids != null) {
+            ids.stream().filter(Objects::nonNull).forEach(informados::add);
+        }
+        return informados;
+    }
+
+    private List<List<Long>> dividir(Set<Long> ids) {
+        List<Long> todos = new ArrayList<>(ids);
+        List<List<Long>> lotes = new ArrayList<>();
+        for (int inicio = 0; inicio < todos.size(); inicio += tamanhoLote) {
+            lotes.add(todos.subList(inicio, Math.min(inicio + tamanhoLote, todos.size())));
+        }
+        return lotes;
+    }
+
+    private static void verificarExistentes(String tipo, Collection<Long> informados, Collection<Long> existentes) {
+        Set<Long> encontrados = new HashSet<>(existentes);
+        List<Long> faltando = informados.stream().filter(id -> !encontrados.contains(id)).toList();
+        if (!faltando.isEmpty()) {
+            throw new ResourceNotFoundException(tipo + " não encontrado(s): " + faltando);
+        }
+    }
+}
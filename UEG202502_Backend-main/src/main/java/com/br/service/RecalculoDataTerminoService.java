@@ -0,0 +1,107 @@
+package com.br.service;
+
+import com.br.repository.TurmaRepository;
+import com.br.repository.projecao.CargaTurmaProjecao;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Recalcula a data de término das turmas quando a carga horária de um curso muda.
+ *
+ * A edição do curso só publica um CargaHorariaAlteradaEvent; antes do commit, na mesma transação,
+ * as turmas do curso são lidas em lotes pelo índice reverso de turma_curso, já com a carga total
+ * somada no banco, e cada lote é gravado com um único UPDATE (sem carregar as entidades).
+ * O custo cresce com o número de turmas afetadas, não com o total de turmas.
+ */
+@Service
+public class RecalculoDataTerminoService {
+
+    @Autowired
+    private TurmaRepository turmaRepository;
+
+    @Autowired
+    private CalendarioAcademico calendarioAcademico;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.recalculo-data-termino.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    // Roda dentro da transação que alterou o curso: o curso e as datas das turmas são gravados juntos
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void aoAlterarCargaHoraria(CargaHorariaAlteradaEvent evento) {
+        recalcularTurmasDoCurso(evento.idCurso());
+    }
+
+    // Recalcula a data de término de todas as turmas do curso; devolve a quantidade de turmas atualizadas
+    @Transactional
+    public int recalcularTurmasDoCurso(Long idCurso) {
+        Pageable lote = PageRequest.of(0, tamanhoLote);
+        int atualizadas = 0;
+        long cursor = 0;
+        List<CargaTurmaProjecao> cargas;
+        do {
+            cargas = turmaRepository.buscarCargasDasTurmasDoCurso(idCurso, cursor, lote);
+            if (cargas.isEmpty()) {
+                break;
+            }
+            atualizadas += atualizarDatasTermino(cargas);
+            cursor = cargas.get(cargas.size() - 1).getId();
+        } while (cargas.size() == tamanhoLote);
+        return atualizadas;
+    }
+
+    // Recalcula a data de término das turmas informadas, em lotes; devolve os IDs das turmas atualizadas
+    // (as que têm data de início e algum curso)
+    @Transactional
+    public List<Long> recalcularTurmas(Collection<Long> idsTurmas) {
+        List<Long> ids = new ArrayList<>(idsTurmas);
+        List<Long> atualizadas = new ArrayList<>();
+        for (int inicio = 0; inicio < ids.size(); inicio += tamanhoLote) {
+            List<CargaTurmaProjecao> cargas = turmaRepository.buscarCargasDasTurmas(
+                    ids.subList(inicio, Math.min(inicio + tamanhoLote, ids.size())));
+            if (!cargas.isEmpty()) {
+                atualizarDatasTermino(cargas);
+                cargas.forEach(carga -> atualizadas.add(carga.getId()));
+            }
+        }
+        return atualizadas;
+    }
+
+    /**
+     * Grava as novas datas de um lote em um único UPDATE ... SET data_fim = CASE id WHEN ... END.
+     */
+    private int atualizarDatasTermino(List<CargaTurmaProjecao> cargas) {
+        StringBuilder hql = new StringBuilder("UPDATE Turma t SET t.versao = t.versao + 1, t.dataFim = CASE t.id");
+        for (int i = 0; i < cargas.size(); i++) {
+            hql.append(" WHEN :id").append(i).append(" THEN :fim").append(i);
+        }
+        hql.append(" ELSE t.dataFim END WHERE t.id IN :ids");
+
+        Query update = entityManager.createQuery(hql.toString());
+        List<Long> ids = new ArrayList<>(cargas.size());
+        for (int i = 0; i < cargas.size(); i++) {
+            CargaTurmaProjecao carga = cargas.get(i);
+            update.setParameter("id" + i, carga.getId());
+            update.setParameter("fim" + i, calendarioAcademico.calcularDataTermino(
+                    carga.getDataInicio(), carga.getTotalHoras(), carga.getTurno()));
+            ids.add(carga.getId());
+        }
+        update.setParameter("ids", ids);
+        return update.executeUpdate();
+    }
+}
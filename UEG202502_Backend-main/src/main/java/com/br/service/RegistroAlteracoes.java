@@ -0,0 +1,69 @@
+package com.br.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contador de alterações por listagem, usado nos GETs condicionais de /cursos e /turmas.
+ *
+ * Cada alteração incrementa o contador da tabela depois do commit; o ETag é fraco e formado
+ * pela época (instante em que a aplicação subiu) e pelo contador, então um reinício nunca
+ * repete um ETag antigo. Verificar If-None-Match custa uma leitura em memória, sem consulta.
+ * Assim como o CursoCatalogo, considera uma única instância da aplicação gravando no banco.
+ */
+@Component
+public class RegistroAlteracoes {
+
+    public enum Tabela { CURSOS, TURMAS }
+
+    // Estado de uma listagem para os cabeçalhos ETag e Last-Modified
+    public record Versao(String etag, long ultimaAlteracao) {
+    }
+
+    private final String epoca = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Map<Tabela, AtomicLong> contadores = new EnumMap<>(Tabela.class);
+
+    private final Map<Tabela, AtomicLong> ultimasAlteracoes = new EnumMap<>(Tabela.class);
+
+    public RegistroAlteracoes() {
+        long agora = Instant.now().toEpochMilli();
+        for (Tabela tabela : Tabela.values()) {
+            contadores.put(tabela, new AtomicLong());
+            ultimasAlteracoes.put(tabela, new AtomicLong(agora));
+        }
+    }
+
+    // Registra uma alteração nas tabelas; dentro de uma transação, só vale depois do commit
+    public void registrar(Tabela... tabelas) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    incrementar(tabelas);
+                }
+            });
+        } else {
+            incrementar(tabelas);
+        }
+    }
+
+    public Versao versao(Tabela tabela) {
+        return new Versao("W/\"" + tabela.name().toLowerCase() + "-" + epoca + "-" + contadores.get(tabela).get() + "\"",
+                ultimasAlteracoes.get(tabela).get());
+    }
+
+    private void incrementar(Tabela... tabelas) {
+        long agora = Instant.now().toEpochMilli();
+        for (Tabela tabela : tabelas) {
+            contadores.get(tabela).incrementAndGet();
+            ultimasAlteracoes.get(tabela).accumulateAndGet(agora, Math::max);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.br.service;
+
+import com.br.dto.TotalMensalidadeDTO;
+import com.br.model.Aluno;
+import com.br.model.Curso;
+import com.br.repository.AlunoRepository;
+import com.br.repository.ResumoMensalidadeCursoRepository;
+import com.br.repository.ResumoMensalidadeRepository;
+import com.br.repository.projecao.MensalidadeAlunoProjecao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Totais de mensalidade para o financeiro (V12__resumo_mensalidade.sql).
+ *
+ * Cada gravação de aluno informa a sua contribuição antes e depois da alteração; a diferença é somada
+ * às linhas dos resumos com UPDATEs atômicos, na mesma transação da gravação. As consultas agrupam
+ * as linhas dos resumos (uma por turma, semestre e bolsista; uma por curso), sem ler a tabela aluno.
+ *
+ * As linhas são atualizadas sempre na mesma ordem (pela chave) para que duas gravações concorrentes
+ * não se bloqueiem mutuamente. Os valores são arredondados para centavos aluno a aluno, como na carga
+ * inicial da migração, para que os ajustes e um recálculo completo cheguem ao mesmo total.
+ */
+@Service
+public class ResumoMensalidadeService {
+
+    // Chave das linhas de resumo_mensalidade, na ordem em que são atualizadas
+    private static final Comparator<Linha> ORDEM_LINHAS = Comparator.comparingLong(Linha::idTurma)
+        .thenComparingInt(Linha::semestre)
+        .thenComparing(Linha::bolsista);
+
+    @Autowired
+    private ResumoMensalidadeRepository resumoRepository;
+
+    @Autowired
+    private ResumoMensalidadeCursoRepository resumoCursoRepository;
+
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    /**
+     * O que um aluno soma aos resumos: a sua mensalidade na linha da turma, semestre e bolsista
+     * e na linha de cada curso em que está matriculado. A versão do aluno lida junto permite
+     * gravar a alteração só se ele não tiver mudado depois da leitura.
+     */
+    public record Contribuicao(Long idTurma, Integer semestre, Boolean bolsista, Double mensalidade,
+                               Set<Long> cursos, Long versao) {
+
+        public static Contribuicao de(Aluno aluno) {
+            Set<Long> cursos = new TreeSet<>();
+            if (aluno.getCursos() != null) {
+                for (Curso curso : aluno.getCursos()) {
+                    if (curso.getId() != null) {
+                        cursos.add(curso.getId());
+                    }
+                }
+            }
+            return new Contribuicao(aluno.getTurma() == null ? null : aluno.getTurma().getId(),
+                    aluno.getSemestre(), aluno.getBolsista(), aluno.getMensalidade(), cursos, aluno.getVersao());
+        }
+
+        // A mesma contribuição com o aluno em outra turma
+        public Contribuicao naTurma(Long outraTurma) {
+            return new Contribuicao(outraTurma, semestre, bolsista, mensalidade, cursos, versao);
+        }
+    }
+
+    private record Linha(long idTurma, int semestre, boolean bolsista) {
+    }
+
+    private record Delta(long alunos, BigDecimal valor) {
+
+        Delta somar(Delta outro) {
+            return new Delta(alunos + outro.alunos, valor.add(outro.valor));
+        }
+
+        boolean isNulo() {
+            return alunos == 0 && valor.signum() == 0;
+        }
+    }
+
+    // Contribuição gravada no banco para o aluno, ignorando alterações ainda não gravadas (null se não existe)
+    public Contribuicao contribuicaoAtual(Long codigo) {
+        List<MensalidadeAlunoProjecao> linhas = alunoRepository.buscarMensalidade(codigo);
+        if (linhas.isEmpty()) {
+            return null;
+        }
+        MensalidadeAlunoProjecao aluno = linhas.get(0);
+        Set<Long> cursos = new TreeSet<>();
+        for (MensalidadeAlunoProjecao linha : linhas) {
+            if (linha.getIdCurso() != null) {
+                cursos.add(linha.getIdCurso());
+            }
+        }
+        return new Contribuicao(aluno.getIdTurma(), aluno.getSemestre(), aluno.getBolsista(),
+                aluno.getMensalidade(), cursos, aluno.getVersao());
+    }
+
+    /**
+     * Aplica aos resumos a troca da contribuição "anterior" pela "atual" de um aluno
+     * (anterior nula = aluno novo; atual nula = aluno excluído).
+     */
+    @Transactional
+    public void registrar(Contribuicao anterior, Contribuicao atual) {
+        Map<Linha, Delta> linhas = new TreeMap<>(ORDEM_LINHAS);
+        Map<Long, Delta> cursos = new TreeMap<>();
+        acumular(linhas, cursos, anterior, -1);
+        acumular(linhas, cursos, atual, 1);
+        aplicar(linhas, cursos);
+    }
+
+    // Soma aos resumos os alunos recém-incluídos (importação em lote), com um UPDATE por linha de resumo
+    @Transactional
+    public void registrarNovos(Collection<Aluno> alunos) {
+        Map<Linha, Delta> linhas = new TreeMap<>(ORDEM_LINHAS);
+        Map<Long, Delta> cursos = new TreeMap<>();
+        for (Aluno aluno : alunos) {
+            acumular(linhas, cursos, Contribuicao.de(aluno), 1);
+        }
+        aplicar(linhas, cursos);
+    }
+
+    /**
+     * Recalcula os resumos dos cursos pela tabela matricula, depois de matrículas incluídas ou
+     * canceladas em lote. As linhas ficam bloqueadas antes do recálculo, de modo que um ajuste
+     * concorrente espera e é somado ao valor já recalculado.
+     */
+    @Transactional
+    public void recalcularCursos(Collection<Long> idsCursos) {
+        Set<Long> ordenados = new TreeSet<>(idsCursos);
+        resumoCursoRepository.criar(ordenados);
+        resumoCursoRepository.bloquear(ordenados);
+        resumoCursoRepository.recalcular(ordenados);
+    }
+
+    public List<TotalMensalidadeDTO<Long>> totaisPorTurma() {
+        return resumoRepository.totaisPorTurma();
+    }
+
+    public List<TotalMensalidadeDTO<Long>> totaisPorCurso() {
+        return resumoCursoRepository.totaisPorCurso();
+    }
+
+    public List<TotalMensalidadeDTO<Integer>> totaisPorSemestre() {
+        return resumoRepository.totaisPorSemestre();
+    }
+
+    public List<TotalMensalidadeDTO<Boolean>> totaisPorBolsista() {
+        return resumoRepository.totaisPorBolsista();
+    }
+
+    private static void acumular(Map<Linha, Delta> linhas, Map<Long, Delta> cursos, Contribuicao contribuicao,
+                                 int sinal) {
+        if (contribuicao == null) {
+            return;
+        }
+        BigDecimal valor = valor(contribuicao.mensalidade());
+        Delta delta = new Delta(sinal, sinal < 0 ? valor.negate() : valor);
+        linhas.merge(new Linha(contribuicao.idTurma() == null ? 0 : contribuicao.idTurma(),
+                contribuicao.semestre() == null ? 0 : contribuicao.semestre(),
+                Boolean.TRUE.equals(contribuicao.bolsista())), delta, Delta::somar);
+        for (Long idCurso : contribuicao.cursos()) {
+            cursos.merge(idCurso, delta, Delta::somar);
+        }
+    }
+
+    // Ajusta cada linha; se ela ainda não existir, cria zerada (sem conflitar com outra transação) e ajusta
+    private void aplicar(Map<Linha, Delta> linhas, Map<Long, Delta> cursos) {
+        linhas.forEach((linha, delta) -> {
+            if (delta.isNulo()) {
+                return;
+            }
+            if (resumoRepository.ajustar(linha.idTurma(), linha.semestre(), linha.bolsista(),
+                    delta.alunos(), delta.valor()) == 0) {
+                resumoRepository.criar(linha.idTurma(), linha.semestre(), linha.bolsista());
+                resumoRepository.ajustar(linha.idTurma(), linha.semestre(), linha.bolsista(),
+                        delta.alunos(), delta.valor());
+            }
+        });
+        cursos.forEach((idCurso, delta) -> {
+            if (delta.isNulo()) {
+                return;
+            }
+            if (resumoCursoRepository.ajustar(idCurso, delta.alunos(), delta.valor()) == 0) {
+                resumoCursoRepository.criar(List.of(idCurso));
+                resumoCursoRepository.ajustar(idCurso, delta.alunos(), delta.valor());
+            }
+        });
+    }
+
+    // Mensalidade em centavos (4 casas e depois 2, como o ROUND(CAST(... AS numeric(19,4)), 2) da migração)
+    private static BigDecimal valor(Double mensalidade) {
+        if (mensalidade == null) {
+            return BigDecimal.ZERO.setScale(2);
+        }
+        return BigDecimal.valueOf(mensalidade).setScale(4, RoundingMode.HALF_UP).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,25 @@
+package com.br.service;
+
+import com.br.model.NormalizacaoNome;
+
+/**
+ * Termo da busca por nome normalizado por NormalizacaoNome, como a função nome_busca do banco
+ * normaliza os nomes, e os padrões LIKE derivados dele, com os curingas escapados.
+ *
+ * Termos com menos de 3 caracteres são recusados: não formam nenhum trigrama completo e a
+ * busca deixaria de usar o índice.
+ */
+record TermoBusca(String termo, String trecho, String prefixo) {
+
+    static final int TAMANHO_MINIMO = 3;
+
+    static TermoBusca de(String texto) {
+        String termo = texto == null ? "" : NormalizacaoNome.normalizar(texto);
+        if (termo.length() < TAMANHO_MINIMO) {
+            throw new IllegalArgumentException(
+                "O termo de busca deve ter ao menos " + TAMANHO_MINIMO + " caracteres");
+        }
+        String escapado = termo.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return new TermoBusca(termo, "%" + escapado + "%", escapado + "%");
+    }
+}
@@ -1,15 +1,33 @@
 package com.br.service;
 
+import com.br.dto.AlteracaoCursosTurmaDTO;
+import com.br.dto.CursoResumoDTO;
+import com.br.dto.ResolucaoCursosDTO;
+import com.br.dto.TurmaResumoDTO;
+import com.br.exception.ResourceNotFoundException;
+import com.br.exception.VersaoDesatualizadaException;
 import com.br.model.Turma;
-import com.br.model.Curso;
 import com.br.repository.TurmaRepository;
 import com.br.repository.CursoRepository;
+import com.br.repository.ListaEsperaRepository;
+import com.br.repository.projecao.TurmaProjecao;
+import com.br.service.RegistroAlteracoes.Tabela;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.ArrayList;
+import java.util.Set;
+import java.util.TreeSet;
 
 @Service
 public class TurmaService {
@@ -20,13 +38,65 @@ public class TurmaService {
     @Autowired
     private CursoRepository cursoRepository;
 
+    @Autowired
+    private CursoCatalogo cursoCatalogo;
+
+    @Autowired
+    private ListaEsperaRepository listaEsperaRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventos;
+
+    @Autowired
+    private RegistroAlteracoes registroAlteracoes;
+
+    @Autowired
+    private CalendarioAcademico calendarioAcademico;
+
+    @Autowired
+    private RecalculoDataTerminoService recalculoDataTermino;
+
     // Método para listar todas as turmas
     public List<Turma> listarTurmas() {
         return turmaRepository.findAll();
     }
 
+    // Método para listar as turmas no formato de leitura da API (cursos e quantidade de alunos)
+    public List<TurmaResumoDTO> listarResumos() {
+        return montarResumos(turmaRepository.listarProjecoes());
+    }
+
+    // Método para consultar uma turma no formato de leitura da API
+    public TurmaResumoDTO consultarResumo(Long id) {
+        TurmaProjecao turma = turmaRepository.buscarProjecao(id)
+            .orElseThrow(() -> new RuntimeException("Turma não encontrada"));
+        return montarResumos(List.of(turma)).get(0);
+    }
+
+    // Converte uma turma recém salva para o formato de leitura da API
+    public TurmaResumoDTO resumir(Turma turma) {
+        return TurmaResumoDTO.de(turma, turma.getQuantidadeAlunos());
+    }
+
+    // Monta os DTOs buscando os cursos de todas as turmas em uma única consulta
+    private List<TurmaResumoDTO> montarResumos(List<TurmaProjecao> turmas) {
+        if (turmas.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<CursoResumoDTO>> cursos = CursoResumoDTO.agruparPorDono(
+                turmaRepository.buscarCursosDasTurmas(turmas.stream().map(TurmaProjecao::getId).toList()));
+
+        return turmas.stream()
+            .map(t -> new TurmaResumoDTO(t.getId(), t.getTurno(), t.getDataInicio(), t.getDataFim(),
+                    cursos.getOrDefault(t.getId(), List.of()), t.getQuantidadeAlunos(), t.getCapacidade(),
+                    t.getVersao()))
+            .toList();
+    }
+
     // Método para salvar uma nova turma
     public Turma salvarTurma(Turma turma) {
+        validarCapacidade(turma.getCapacidade());
+
         // Processar cursos: buscar pelo nome se necessário
         processarCursos(turma);
         
@@ -34,15 +104,26 @@ public class TurmaService {
         if (turma.getDataFim() == null) {
             calcularDataTermino(turma); // Se a data de término não foi informada, o backend calcula
         }
-        return turmaRepository.save(turma);
+        Turma turmaSalva = turmaRepository.save(turma);
+        registroAlteracoes.registrar(Tabela.TURMAS);
+        return turmaSalva;
     }
 
-    // Método para editar uma turma existente
-    public Turma editarTurma(Long id, Turma dadosTurma) {
+    // Método para editar uma turma existente (If-Match: só na versão informada; null = sem condição)
+    @Transactional
+    public Turma editarTurma(Long id, Turma dadosTurma, Long versaoEsperada) {
         Optional<Turma> turmaExistente = turmaRepository.findById(id);
         if (turmaExistente.isPresent()) {
             Turma turma = turmaExistente.get();
+            verificarVersao(turma, versaoEsperada);
             turma.setTurno(dadosTurma.getTurno());
+
+            boolean capacidadeAlterada = false;
+            if (dadosTurma.getCapacidade() != null) {
+                validarCapacidade(dadosTurma.getCapacidade());
+                capacidadeAlterada = !dadosTurma.getCapacidade().equals(turma.getCapacidade());
+                turma.setCapacidade(dadosTurma.getCapacidade());
+            }
             
             // Processar cursos: buscar pelo nome se necessário
             if (dadosTurma.getCursos() != null) {
@@ -60,17 +141,27 @@ public class TurmaService {
                 calcularDataTermino(turma);
             }
             
-            return turmaRepository.save(turma);
+            Turma turmaSalva = turmaRepository.save(turma);
+            registroAlteracoes.registrar(Tabela.TURMAS);
+            if (capacidadeAlterada) {
+                // Pode ter aberto vagas: a lista de espera é processada em segundo plano
+                eventos.publishEvent(new VagaLiberadaEvent(id));
+            }
+            return turmaSalva;
         } else {
             throw new RuntimeException("Turma não encontrada para atualização");
         }
     }
 
-    // Método para excluir uma turma
-    public void excluirTurma(Long id) {
+    // Método para excluir uma turma (e a sua lista de espera)
+    @Transactional
+    public void excluirTurma(Long id, Long versaoEsperada) {
         Optional<Turma> turma = turmaRepository.findById(id);
         if (turma.isPresent()) {
+            verificarVersao(turma.get(), versaoEsperada);
+            listaEsperaRepository.removerTodosDaTurma(id);
             turmaRepository.deleteById(id);
+            registroAlteracoes.registrar(Tabela.TURMAS);
         } else {
             throw new RuntimeException("Turma não encontrada para exclusão");
         }
@@ -89,122 +180,131 @@ public class TurmaService {
 
     /**
      * Processa a lista de cursos da turma, buscando cursos completos pelo nome quando necessário.
-     * O frontend pode enviar cursos com apenas "nome", então precisamos buscar o curso completo no banco.
+     * O frontend pode enviar cursos com apenas "nome", então precisamos buscar o curso completo.
      * 
-     * Melhorias:
-     * - Busca case-insensitive (ignora maiúsculas/minúsculas)
-     * - Remove espaços extras (trim)
-     * - Tenta buscar exato primeiro, depois case-insensitive
-     * - Lista todos os cursos disponíveis se não encontrar (para debug)
+     * A lista inteira é resolvida de uma vez pelo CursoCatalogo (em memória, com no máximo
+     * duas consultas ao banco para o que faltar), preservando a ordem recebida:
+     * - Busca pelo ID quando informado
+     * - Senão, busca pelo nome ignorando maiúsculas/minúsculas e espaços extras (trim)
+     * - Informa todos os nomes não encontrados juntos, com os cursos disponíveis (para debug)
      */
     private void processarCursos(Turma turma) {
         if (turma.getCursos() != null && !turma.getCursos().isEmpty()) {
-            List<Curso> cursosCompletos = new ArrayList<>();
+            ResolucaoCursosDTO resolucao = cursoCatalogo.resolver(turma.getCursos());
             
-            for (Curso cursoRecebido : turma.getCursos()) {
-                Curso cursoCompleto = null;
-                
-                // Se o curso tem ID, buscar pelo ID
-                if (cursoRecebido.getId() != null) {
-                    Optional<Curso> cursoEncontrado = cursoRepository.findById(cursoRecebido.getId());
-                    if (cursoEncontrado.isPresent()) {
-                        cursoCompleto = cursoEncontrado.get();
-                    }
-                }
-                // Se não tem ID mas tem nome, buscar pelo nome
-                else if (cursoRecebido.getNome() != null && !cursoRecebido.getNome().trim().isEmpty()) {
-                    String nomeCurso = cursoRecebido.getNome().trim();
-                    
-                    // Tentar busca exata primeiro
-                    Optional<Curso> cursoEncontrado = cursoRepository.findByNome(nomeCurso);
-                    
-                    // Se não encontrou, tentar case-insensitive
-                    if (!cursoEncontrado.isPresent()) {
-                        // Buscar todos os cursos e comparar case-insensitive
-                        List<Curso> todosCursos = cursoRepository.findAll();
-                        cursoEncontrado = todosCursos.stream()
-                            .filter(c -> c.getNome() != null && 
-                                        c.getNome().trim().equalsIgnoreCase(nomeCurso))
-                            .findFirst();
-                    }
-                    
-                    if (cursoEncontrado.isPresent()) {
-                        cursoCompleto = cursoEncontrado.get();
-                    } else {
-                        // Se não encontrou, listar cursos disponíveis para ajudar no debug
-                        List<Curso> todosCursos = cursoRepository.findAll();
-                        StringBuilder cursosDisponiveis = new StringBuilder();
-                        todosCursos.forEach(c -> {
-                            if (cursosDisponiveis.length() > 0) cursosDisponiveis.append(", ");
-                            cursosDisponiveis.append(c.getNome());
-                        });
-                        
-                        throw new RuntimeException(
-                            "Curso não encontrado: '" + nomeCurso + "'. " +
-                            "Cursos disponíveis no banco: " + cursosDisponiveis.toString()
-                        );
-                    }
-                }
-                
-                // Adicionar apenas se encontrou o curso completo
-                if (cursoCompleto != null) {
-                    cursosCompletos.add(cursoCompleto);
-                }
+            if (!resolucao.nomesNaoEncontrados().isEmpty()) {
+                throw new RuntimeException(
+                    "Curso(s) não encontrado(s): '" + String.join("', '", resolucao.nomesNaoEncontrados()) + "'. " +
+                    "Cursos disponíveis no banco: " + String.join(", ", cursoCatalogo.nomesDisponiveis())
+                );
             }
             
-            turma.setCursos(cursosCompletos);
+            turma.setCursos(new ArrayList<>(resolucao.cursos()));
         }
     }
 
-    // Método para calcular a data de término com base nos cursos associados à turma
+    private void verificarVersao(Turma turma, Long versaoEsperada) {
+        if (versaoEsperada != null && !versaoEsperada.equals(turma.getVersao())) {
+            throw new VersaoDesatualizadaException(
+                "Turma alterada por outra requisição (versão atual: " + turma.getVersao() + ")");
+        }
+    }
+
+    private void validarCapacidade(Integer capacidade) {
+        if (capacidade != null && capacidade < 0) {
+            throw new RuntimeException("Capacidade da turma inválida");
+        }
+    }
+
+    // Método para calcular a data de término com base nos cursos associados à turma (dias letivos do turno)
     private void calcularDataTermino(Turma turma) {
         if (turma.getDataInicio() != null && turma.getCursos() != null && !turma.getCursos().isEmpty()) {
-            int totalHoras = turma.getCursos().stream()
-                .mapToInt(Curso::getCargaHoraria)
-                .sum(); // Soma das cargas horárias dos cursos
+            turma.setDataFim(calendarioAcademico.calcularDataTermino(
+                turma.getDataInicio(), turma.calcularTotalHoras(), turma.getTurno()));
+        }
+    }
 
-            // Estima-se que cada 8 horas representem 1 dia útil de aulas (ajustável conforme necessário)
-            int diasDeAula = totalHoras / 8;
+    /**
+     * Aplica, em uma única transação, inclusões e remoções de cursos em uma ou várias turmas.
+     *
+     * As alterações são somadas por turma como conjuntos (a última operação sobre um curso prevalece;
+     * dentro de uma mesma alteração as remoções vêm antes das inclusões). Turmas com o mesmo conjunto
+     * de cursos a incluir, ou a remover, são gravadas juntas: um INSERT ... SELECT ou um DELETE em
+     * turma_curso por conjunto distinto, sem carregar as turmas nem as coleções. Por fim a data de
+     * término de cada turma alterada é recalculada uma única vez.
+     */
+    @Transactional
+    public List<TurmaResumoDTO> alterarCursos(List<AlteracaoCursosTurmaDTO> alteracoes) {
+        Map<Long, Set<Long>> adicionar = new LinkedHashMap<>();
+        Map<Long, Set<Long>> remover = new LinkedHashMap<>();
+        for (AlteracaoCursosTurmaDTO alteracao : alteracoes) {
+            if (alteracao == null || alteracao.idTurma() == null) {
+                throw new IllegalArgumentException("Informe a turma de cada alteração");
+            }
+            Set<Long> incluir = adicionar.computeIfAbsent(alteracao.idTurma(), id -> new TreeSet<>());
+            Set<Long> excluir = remover.computeIfAbsent(alteracao.idTurma(), id -> new TreeSet<>());
+            for (Long idCurso : idsInformados(alteracao.remover())) {
+                incluir.remove(idCurso);
+                excluir.add(idCurso);
+            }
+            for (Long idCurso : idsInformados(alteracao.adicionar())) {
+                excluir.remove(idCurso);
+                incluir.add(idCurso);
+            }
+        }
+        if (adicionar.isEmpty()) {
+            return List.of();
+        }
 
-            // Calcula a data de término adicionando os dias de aula à data de início
-            turma.setDataFim(new java.util.Date(turma.getDataInicio().getTime() + (diasDeAula * 24 * 60 * 60 * 1000L))); // Adiciona dias em milissegundos
+        Set<Long> turmas = adicionar.keySet();
+        List<Long> faltando = faltando(turmas, turmaRepository.buscarIdsExistentes(turmas));
+        if (!faltando.isEmpty()) {
+            throw new ResourceNotFoundException("Turma(s) não encontrada(s): " + faltando);
+        }
+        Set<Long> cursos = new TreeSet<>();
+        adicionar.values().forEach(cursos::addAll);
+        if (!cursos.isEmpty()) {
+            faltando = faltando(cursos, cursoRepository.buscarIdsExistentes(cursos));
+            if (!faltando.isEmpty()) {
+                throw new ResourceNotFoundException("Curso(s) não encontrado(s): " + faltando);
+            }
         }
-    }
 
-    // Método para adicionar um curso a uma turma
-    public Turma adicionarCurso(Long idTurma, Long idCurso) {
-        Optional<Turma> turma = turmaRepository.findById(idTurma);
-        Optional<Curso> curso = cursoRepository.findById(idCurso);
+        agruparPorConjunto(remover).forEach((idsCursos, idsTurmas) -> turmaRepository.desvincularCursos(idsTurmas, idsCursos));
+        agruparPorConjunto(adicionar).forEach((idsCursos, idsTurmas) -> turmaRepository.vincularCursos(idsTurmas, idsCursos));
 
-        if (turma.isPresent() && curso.isPresent()) {
-            Turma turmaEncontrada = turma.get();
-            if (turmaEncontrada.getCursos() == null) {
-                turmaEncontrada.setCursos(new java.util.ArrayList<>());
+        // O recálculo da data de término já muda a versão; as demais turmas alteradas mudam aqui
+        Set<Long> alteradas = new LinkedHashSet<>();
+        turmas.stream()
+            .filter(id -> !adicionar.get(id).isEmpty() || !remover.get(id).isEmpty())
+            .forEach(alteradas::add);
+        if (!alteradas.isEmpty()) {
+            recalculoDataTermino.recalcularTurmas(alteradas).forEach(alteradas::remove);
+            if (!alteradas.isEmpty()) {
+                turmaRepository.incrementarVersao(alteradas);
             }
-            turmaEncontrada.getCursos().add(curso.get());
-            calcularDataTermino(turmaEncontrada); // Recalcula a data de término após adicionar curso
-            return turmaRepository.save(turmaEncontrada);
-        } else {
-            throw new RuntimeException("Turma ou curso não encontrado");
+            registroAlteracoes.registrar(Tabela.TURMAS);
         }
+        return montarResumos(turmaRepository.buscarProjecoes(turmas));
     }
 
-    // Método para remover um curso de uma turma
-    public Turma removerCurso(Long idTurma, Long idCurso) {
-        Optional<Turma> turma = turmaRepository.findById(idTurma);
-        Optional<Curso> curso = cursoRepository.findById(idCurso);
+    private static List<Long> idsInformados(List<Long> ids) {
+        return ids == null ? List.of() : ids.stream().filter(Objects::nonNull).toList();
+    }
+
+    private static List<Long> faltando(Collection<Long> informados, Collection<Long> existentes) {
+        Set<Long> encontrados = new HashSet<>(existentes);
+        return informados.stream().filter(id -> !encontrados.contains(id)).toList();
+    }
 
-        if (turma.isPresent() && curso.isPresent()) {
-            Turma turmaEncontrada = turma.get();
-            if (turmaEncontrada.getCursos() != null) {
-                turmaEncontrada.getCursos().remove(curso.get());
-                calcularDataTermino(turmaEncontrada); // Recalcula a data de término após remover curso
-                return turmaRepository.save(turmaEncontrada);
+    // Turmas agrupadas pelo conjunto de cursos (não vazio) a gravar
+    private static Map<Set<Long>, List<Long>> agruparPorConjunto(Map<Long, Set<Long>> cursosPorTurma) {
+        Map<Set<Long>, List<Long>> grupos = new LinkedHashMap<>();
+        cursosPorTurma.forEach((idTurma, idsCursos) -> {
+            if (!idsCursos.isEmpty()) {
+                grupos.computeIfAbsent(idsCursos, conjunto -> new ArrayList<>()).add(idTurma);
             }
-            return turmaEncontrada;
-        } else {
-            throw new RuntimeException("Turma ou curso não encontrado");
-        }
+        });
+        return grupos;
     }
 }
-
@@ -0,0 +1,8 @@
+package com.br.service;
+
+/**
+ * Publicado quando uma turma pode ter ganhado vaga (aluno excluído, aluno trocou de turma
+ * ou a capacidade aumentou). Tratado pelo ListaEsperaService depois do commit.
+ */
+public record VagaLiberadaEvent(Long idTurma) {
+}
@@ -0,0 +1,79 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.text.Normalizer;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Recalcula curso.nome_normalizado com a normalização da busca por nome, que passou a transliterar
+ * letras como ß, æ, ø e ł (NormalizacaoNome): "Straße" e "Strasse" passam a ser o mesmo nome.
+ *
+ * As regras estão copiadas aqui como estavam nesta versão, pelo mesmo motivo da V8. Todas as linhas
+ * são zeradas antes do recálculo, para que um valor novo não colida com um valor antigo ainda não
+ * recalculado. Cursos que passarem a ter o mesmo nome normalizado de um curso de menor ID ficam
+ * com a coluna nula e são listados no log, como na V8.
+ */
+public class V14__nome_normalizado_transliterado extends BaseJavaMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(V14__nome_normalizado_transliterado.class);
+
+    private static final Map<Character, String> TRANSLITERACOES = Map.ofEntries(
+        Map.entry('ß', "ss"), Map.entry('æ', "ae"), Map.entry('œ', "oe"), Map.entry('ø', "o"),
+        Map.entry('ł', "l"), Map.entry('đ', "d"), Map.entry('ð', "d"), Map.entry('þ', "th"),
+        Map.entry('ħ', "h"), Map.entry('ı', "i"), Map.entry('ŀ', "l"), Map.entry('ŧ', "t"),
+        Map.entry('ŋ', "n"), Map.entry('ĳ', "ij"), Map.entry('ﬀ', "ff"), Map.entry('ﬁ', "fi"),
+        Map.entry('ﬂ', "fl"), Map.entry('ﬃ', "ffi"), Map.entry('ﬄ', "ffl"));
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection conexao = context.getConnection();
+        try (Statement comando = conexao.createStatement()) {
+            comando.execute("UPDATE curso SET nome_normalizado = NULL");
+        }
+
+        Set<String> usados = new HashSet<>();
+        try (Statement consulta = conexao.createStatement();
+             ResultSet cursos = consulta.executeQuery("SELECT id, nome FROM curso ORDER BY id");
+             PreparedStatement atualizacao = conexao.prepareStatement(
+                 "UPDATE curso SET nome_normalizado = ? WHERE id = ?")) {
+            while (cursos.next()) {
+                long id = cursos.getLong("id");
+                String nomeNormalizado = normalizarNome(cursos.getString("nome"));
+                if (nomeNormalizado != null && !usados.add(nomeNormalizado)) {
+                    log.warn("Curso {} tem o mesmo nome de um curso anterior ('{}'): nome_normalizado ficou nulo",
+                            id, cursos.getString("nome"));
+                    nomeNormalizado = null;
+                }
+                atualizacao.setString(1, nomeNormalizado);
+                atualizacao.setLong(2, id);
+                atualizacao.addBatch();
+            }
+            atualizacao.executeBatch();
+        }
+    }
+
+    // NormalizacaoNome.normalizar como estava na V14
+    private static String normalizarNome(String nome) {
+        if (nome == null) {
+            return null;
+        }
+        String semAcento = Normalizer.normalize(nome.toLowerCase(Locale.ROOT), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "");
+        StringBuilder normalizado = new StringBuilder(semAcento.length());
+        for (char letra : semAcento.toCharArray()) {
+            normalizado.append(TRANSLITERACOES.getOrDefault(letra, String.valueOf(letra)));
+        }
+        return normalizado.toString().replaceAll("\\s+", " ").trim();
+    }
+}
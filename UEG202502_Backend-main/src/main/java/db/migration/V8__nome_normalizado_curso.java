@@ -0,0 +1,72 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.text.Normalizer;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Coluna curso.nome_normalizado com índice único, usada para encontrar o curso pelo nome.
+ *
+ * É uma migração Java para preencher a coluna com a normalização que a aplicação usava nesta versão
+ * (Curso.normalizarNome), e não com uma aproximação em SQL. A normalização é uma cópia própria da
+ * migração: uma mudança posterior na aplicação não pode alterar o que a V8 grava em uma instalação
+ * nova. Se cursos já cadastrados tiverem o mesmo nome normalizado, só o de menor ID recebe o valor;
+ * os demais ficam com a coluna nula (não são encontrados pelo nome) e são listados no log para correção.
+ */
+public class V8__nome_normalizado_curso extends BaseJavaMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(V8__nome_normalizado_curso.class);
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection conexao = context.getConnection();
+        try (Statement comando = conexao.createStatement()) {
+            comando.execute("ALTER TABLE curso ADD COLUMN IF NOT EXISTS nome_normalizado varchar(255)");
+        }
+
+        Set<String> usados = new HashSet<>();
+        try (Statement consulta = conexao.createStatement();
+             ResultSet cursos = consulta.executeQuery("SELECT id, nome FROM curso ORDER BY id");
+             PreparedStatement atualizacao = conexao.prepareStatement(
+                 "UPDATE curso SET nome_normalizado = ? WHERE id = ?")) {
+            while (cursos.next()) {
+                long id = cursos.getLong("id");
+                String nomeNormalizado = normalizarNome(cursos.getString("nome"));
+                if (nomeNormalizado != null && !usados.add(nomeNormalizado)) {
+                    log.warn("Curso {} tem o mesmo nome de um curso anterior ('{}'): nome_normalizado ficou nulo",
+                            id, cursos.getString("nome"));
+                    nomeNormalizado = null;
+                }
+                atualizacao.setString(1, nomeNormalizado);
+                atualizacao.setLong(2, id);
+                atualizacao.addBatch();
+            }
+            atualizacao.executeBatch();
+        }
+
+        try (Statement comando = conexao.createStatement()) {
+            comando.execute("ALTER TABLE curso ADD CONSTRAINT uk_curso_nome_normalizado UNIQUE (nome_normalizado)");
+        }
+    }
+
+    // Curso.normalizarNome como estava na V8: sem acentos, espaços seguidos reduzidos a um, em minúsculas
+    private static String normalizarNome(String nome) {
+        if (nome == null) {
+            return null;
+        }
+        return Normalizer.normalize(nome.trim(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .replaceAll("\\s+", " ")
+                .toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,20 @@
+-- Um curso aparece no máximo uma vez em cada turma: a tabela turma_curso não tinha chave e aceitava
+-- vínculos repetidos. As alterações em lote (PATCH /turmas/cursos) inserem só os pares que faltam e
+-- contam com a chave para barrar a mesma inclusão feita em paralelo.
+
+-- Remove os vínculos repetidos, mantendo um de cada par
+DELETE FROM turma_curso a
+    USING turma_curso b
+    WHERE a.ctid > b.ctid
+      AND a.id_turma = b.id_turma
+      AND a.id_curso = b.id_curso;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'pk_turma_curso') THEN
+        ALTER TABLE turma_curso ADD CONSTRAINT pk_turma_curso PRIMARY KEY (id_turma, id_curso);
+    END IF;
+END $$;
+
+-- O índice da chave primária (id_turma, id_curso) substitui o criado na V9
+DROP INDEX IF EXISTS idx_turma_curso_turma;
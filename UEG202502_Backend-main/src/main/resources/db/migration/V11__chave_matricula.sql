@@ -0,0 +1,20 @@
+-- Um aluno se matricula no máximo uma vez em cada curso: a tabela matricula não tinha chave e aceitava
+-- pares repetidos. As matrículas em lote (/matriculas) usam a chave no ON CONFLICT DO NOTHING para
+-- ignorar os pares que já existem.
+
+-- Remove as matrículas repetidas, mantendo uma de cada par
+DELETE FROM matricula a
+    USING matricula b
+    WHERE a.ctid > b.ctid
+      AND a.id_aluno = b.id_aluno
+      AND a.id_curso = b.id_curso;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'pk_matricula') THEN
+        ALTER TABLE matricula ADD CONSTRAINT pk_matricula PRIMARY KEY (id_aluno, id_curso);
+    END IF;
+END $$;
+
+-- O índice da chave primária (id_aluno, id_curso) substitui o criado na V9
+DROP INDEX IF EXISTS idx_matricula_aluno;
@@ -0,0 +1,38 @@
+-- Resumos de mensalidade para os relatórios financeiros (GET /mensalidades/...): quantidade de alunos
+-- e soma das mensalidades por turma, semestre e bolsista, e por curso (tabela matricula). São mantidos
+-- pela aplicação a cada gravação de aluno, de modo que os totais não dependem do número de alunos.
+--
+-- As colunas da chave não aceitam nulo: aluno sem turma fica em id_turma = 0, semestre não informado
+-- em semestre = 0 e bolsista nulo conta como falso. Não há chave estrangeira para turma e curso:
+-- a linha de uma turma excluída fica zerada (a turma só pode ser excluída sem alunos).
+
+CREATE TABLE IF NOT EXISTS resumo_mensalidade (
+    id_turma          bigint         NOT NULL,
+    semestre          integer        NOT NULL,
+    bolsista          boolean        NOT NULL,
+    quantidade_alunos bigint         NOT NULL,
+    total_mensalidade numeric(19, 2) NOT NULL,
+    CONSTRAINT pk_resumo_mensalidade PRIMARY KEY (id_turma, semestre, bolsista)
+);
+
+CREATE TABLE IF NOT EXISTS resumo_mensalidade_curso (
+    id_curso          bigint         NOT NULL,
+    quantidade_alunos bigint         NOT NULL,
+    total_mensalidade numeric(19, 2) NOT NULL,
+    CONSTRAINT pk_resumo_mensalidade_curso PRIMARY KEY (id_curso)
+);
+
+-- Carga inicial a partir dos alunos existentes (mesmo arredondamento usado pela aplicação)
+INSERT INTO resumo_mensalidade (id_turma, semestre, bolsista, quantidade_alunos, total_mensalidade)
+SELECT COALESCE(a.id_turma, 0), COALESCE(a.semestre, 0), COALESCE(a.bolsista, false),
+       COUNT(*), COALESCE(SUM(ROUND(CAST(a.mensalidade AS numeric(19, 4)), 2)), 0)
+FROM aluno a
+GROUP BY COALESCE(a.id_turma, 0), COALESCE(a.semestre, 0), COALESCE(a.bolsista, false)
+ON CONFLICT DO NOTHING;
+
+INSERT INTO resumo_mensalidade_curso (id_curso, quantidade_alunos, total_mensalidade)
+SELECT m.id_curso, COUNT(*), COALESCE(SUM(ROUND(CAST(a.mensalidade AS numeric(19, 4)), 2)), 0)
+FROM matricula m
+JOIN aluno a ON a.codigo = m.id_aluno
+GROUP BY m.id_curso
+ON CONFLICT DO NOTHING;
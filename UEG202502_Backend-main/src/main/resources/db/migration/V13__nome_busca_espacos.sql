@@ -0,0 +1,10 @@
+-- nome_busca passa a tirar os espaços das pontas e a reduzir espaços seguidos (inclusive tabulações)
+-- a um só, como a aplicação já faz com o termo buscado (TermoBusca): um nome gravado com espaço duplo
+-- não era encontrado por um termo de várias palavras.
+CREATE OR REPLACE FUNCTION nome_busca(texto text) RETURNS text
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+    AS $$ SELECT lower(btrim(regexp_replace(public.unaccent('public.unaccent'::regdictionary, texto), '\s+', ' ', 'g'))) $$;
+
+-- Os índices guardam o resultado da versão anterior da função
+REINDEX INDEX idx_aluno_nome_busca;
+REINDEX INDEX idx_curso_nome_busca;
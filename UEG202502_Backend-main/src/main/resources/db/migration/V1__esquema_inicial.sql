@@ -0,0 +1,58 @@
+-- Esquema original, como era gerado pelo Hibernate (spring.jpa.hibernate.ddl-auto=update).
+-- Idempotente: em bancos já existentes (baseline-version=0) nada é alterado.
+
+CREATE TABLE IF NOT EXISTS turma (
+    data_fim timestamp(6),
+    data_inicio timestamp(6),
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    turno varchar(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS curso (
+    carga_horaria integer,
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    nome varchar(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS aluno (
+    bolsista boolean,
+    mensalidade float(53),
+    semestre integer,
+    codigo bigint GENERATED BY DEFAULT AS IDENTITY,
+    data_matricula timestamp(6),
+    id_turma bigint,
+    nome varchar(255),
+    PRIMARY KEY (codigo)
+);
+
+CREATE TABLE IF NOT EXISTS matricula (
+    id_aluno bigint NOT NULL,
+    id_curso bigint NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS turma_curso (
+    id_curso bigint NOT NULL,
+    id_turma bigint NOT NULL
+);
+
+-- Chaves estrangeiras com os mesmos nomes gerados pelo Hibernate
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fk6u9nh0rofks23793tl5j0f7v3') THEN
+        ALTER TABLE aluno ADD CONSTRAINT FK6u9nh0rofks23793tl5j0f7v3 FOREIGN KEY (id_turma) REFERENCES turma;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fk3kmpjws06uktvh1va9scigafr') THEN
+        ALTER TABLE matricula ADD CONSTRAINT FK3kmpjws06uktvh1va9scigafr FOREIGN KEY (id_curso) REFERENCES curso;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fk447ng01ewew6knrjl7gl4g65i') THEN
+        ALTER TABLE matricula ADD CONSTRAINT FK447ng01ewew6knrjl7gl4g65i FOREIGN KEY (id_aluno) REFERENCES aluno;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fkpigqcarkphv1l8i061rxwrlku') THEN
+        ALTER TABLE turma_curso ADD CONSTRAINT FKpigqcarkphv1l8i061rxwrlku FOREIGN KEY (id_curso) REFERENCES curso;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fk127046qhd8dxda0qfjocmo9bu') THEN
+        ALTER TABLE turma_curso ADD CONSTRAINT FK127046qhd8dxda0qfjocmo9bu FOREIGN KEY (id_turma) REFERENCES turma;
+    END IF;
+END $$;
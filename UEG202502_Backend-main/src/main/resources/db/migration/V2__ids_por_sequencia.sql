@@ -0,0 +1,20 @@
+-- Troca a geração de IDs de IDENTITY para sequências com otimizador pooled-lo,
+-- permitindo que o Hibernate agrupe os INSERTs em lote (hibernate.jdbc.batch_size).
+--
+-- O INCREMENT BY é o tamanho de alocação: cada nextval reserva esse bloco de IDs para uma instância.
+-- Com hibernate.id.sequence.increment_size_mismatch_strategy=fix o Hibernate adota o valor do banco,
+-- então para alterá-lo basta uma nova migração com ALTER SEQUENCE ... INCREMENT BY.
+--
+-- As sequências começam no próximo ID livre: com pooled-lo o valor do nextval é o primeiro ID do bloco.
+
+ALTER TABLE aluno ALTER COLUMN codigo DROP IDENTITY IF EXISTS;
+ALTER TABLE turma ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE curso ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS aluno_seq INCREMENT BY ${tamanhoAlocacaoIds};
+CREATE SEQUENCE IF NOT EXISTS turma_seq INCREMENT BY ${tamanhoAlocacaoIds};
+CREATE SEQUENCE IF NOT EXISTS curso_seq INCREMENT BY ${tamanhoAlocacaoIds};
+
+SELECT setval('aluno_seq', (SELECT COALESCE(MAX(codigo), 0) + 1 FROM aluno), false);
+SELECT setval('turma_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM turma), false);
+SELECT setval('curso_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM curso), false);
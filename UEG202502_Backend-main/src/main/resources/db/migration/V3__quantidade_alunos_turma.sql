@@ -0,0 +1,8 @@
+-- Quantidade de alunos materializada na turma, para que as listagens não precisem contar
+-- (nem carregar) os alunos de cada turma. A partir daqui o contador é mantido pela aplicação
+-- com UPDATEs incrementais (TurmaRepository.ajustarQuantidadeAlunos).
+
+ALTER TABLE turma ADD COLUMN IF NOT EXISTS quantidade_alunos bigint NOT NULL DEFAULT 0;
+
+UPDATE turma t
+   SET quantidade_alunos = (SELECT COUNT(*) FROM aluno a WHERE a.id_turma = t.id);
@@ -0,0 +1,4 @@
+-- Capacidade da turma (nula = sem limite). As vagas são reservadas com um UPDATE condicional
+-- sobre quantidade_alunos (TurmaRepository.reservarVagas), sem bloquear a tabela.
+
+ALTER TABLE turma ADD COLUMN IF NOT EXISTS capacidade integer;
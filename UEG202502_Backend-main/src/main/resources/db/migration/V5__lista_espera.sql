@@ -0,0 +1,17 @@
+-- Lista de espera das turmas lotadas. A fila de cada turma é lida pelo índice (id_turma, id),
+-- sem percorrer os alunos; um aluno aparece no máximo uma vez na fila de cada turma.
+
+CREATE SEQUENCE IF NOT EXISTS lista_espera_seq INCREMENT BY ${tamanhoAlocacaoIds};
+
+CREATE TABLE IF NOT EXISTS lista_espera (
+    id bigint NOT NULL,
+    id_turma bigint NOT NULL,
+    id_aluno bigint NOT NULL,
+    data_inscricao timestamp(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_lista_espera_turma_aluno UNIQUE (id_turma, id_aluno),
+    CONSTRAINT fk_lista_espera_turma FOREIGN KEY (id_turma) REFERENCES turma (id),
+    CONSTRAINT fk_lista_espera_aluno FOREIGN KEY (id_aluno) REFERENCES aluno (codigo)
+);
+
+CREATE INDEX IF NOT EXISTS idx_lista_espera_turma ON lista_espera (id_turma, id);
@@ -0,0 +1,5 @@
+-- Coluna de versão (@Version) para o controle de concorrência otimista e os ETags da API.
+
+ALTER TABLE aluno ADD COLUMN IF NOT EXISTS versao bigint NOT NULL DEFAULT 0;
+ALTER TABLE turma ADD COLUMN IF NOT EXISTS versao bigint NOT NULL DEFAULT 0;
+ALTER TABLE curso ADD COLUMN IF NOT EXISTS versao bigint NOT NULL DEFAULT 0;
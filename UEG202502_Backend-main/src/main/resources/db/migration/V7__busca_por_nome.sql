@@ -0,0 +1,25 @@
+-- Busca por nome de alunos e cursos (GET /alunos/search e /cursos/search): sem diferenciar acentos
+-- e maiúsculas, por trecho do nome e aproximada (erros de digitação), com índices GIN de trigramas.
+--
+-- pg_trgm e unaccent são extensões do contrib, "trusted" desde o PostgreSQL 13:
+-- o dono do banco pode criá-las sem ser superusuário.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+-- unaccent() é STABLE (depende do dicionário em uso) e não pode ser usada em índice;
+-- com o dicionário fixo o resultado só depende do texto. A aplicação normaliza o termo
+-- buscado da mesma forma antes de comparar.
+CREATE OR REPLACE FUNCTION nome_busca(texto text) RETURNS text
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+    AS $$ SELECT lower(public.unaccent('public.unaccent'::regdictionary, texto)) $$;
+
+-- Termo parecido com alguma palavra ou trecho do nome (pg_trgm.word_similarity_threshold, 0,6 por padrão).
+-- Por ser uma função SQL de uma expressão, o planejador a substitui pelo operador <%, que usa o índice.
+CREATE OR REPLACE FUNCTION nome_parecido(termo text, nome text) RETURNS boolean
+    LANGUAGE sql STABLE PARALLEL SAFE
+    AS $$ SELECT termo <% nome $$;
+
+-- Atendem tanto ao LIKE '%trecho%' quanto ao <% da busca aproximada
+CREATE INDEX IF NOT EXISTS idx_aluno_nome_busca ON aluno USING gin (nome_busca(nome) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_curso_nome_busca ON curso USING gin (nome_busca(nome) gin_trgm_ops);
@@ -0,0 +1,25 @@
+-- Índices para as consultas dos repositórios. Até aqui só existiam as chaves primárias, os índices
+-- da lista de espera (V5) e os da busca por nome (V7, V8): as colunas de junção e de filtro eram lidas
+-- com varredura sequencial. Com esta migração o Flyway é o dono do esquema e a aplicação só o valida
+-- na subida (spring.jpa.hibernate.ddl-auto=validate).
+
+-- Alunos de uma turma: filtro ?turma= da listagem paginada (keyset por codigo), TurmaRepository.contarAlunos
+-- e a verificação da chave estrangeira ao excluir uma turma
+CREATE INDEX IF NOT EXISTS idx_aluno_turma ON aluno (id_turma, codigo);
+
+-- Filtro ?nome= da listagem (LOWER(nome) LIKE 'prefixo%'); varchar_pattern_ops permite o LIKE
+-- por prefixo independente da collation do banco
+CREATE INDEX IF NOT EXISTS idx_aluno_nome_prefixo ON aluno (lower(nome) varchar_pattern_ops);
+
+-- Cursos de uma página de alunos (AlunoRepository.buscarCursosDosAlunos: id_aluno IN ...),
+-- respondida só com o índice; e o lado do curso, para exclusões e a chave estrangeira
+CREATE INDEX IF NOT EXISTS idx_matricula_aluno ON matricula (id_aluno, id_curso);
+CREATE INDEX IF NOT EXISTS idx_matricula_curso ON matricula (id_curso);
+
+-- Cursos de uma página de turmas (TurmaRepository.buscarCursosDasTurmas e a coleção Turma.cursos)
+CREATE INDEX IF NOT EXISTS idx_turma_curso_turma ON turma_curso (id_turma, id_curso);
+CREATE INDEX IF NOT EXISTS idx_turma_curso_curso ON turma_curso (id_curso);
+
+-- Inscrições de um aluno em qualquer fila (ListaEsperaRepository.removerDoAluno ao excluir o aluno);
+-- a restrição única (id_turma, id_aluno) começa pela turma e não atende a esse filtro
+CREATE INDEX IF NOT EXISTS idx_lista_espera_aluno ON lista_espera (id_aluno);
@@ -0,0 +1,70 @@
+package com.br;
+
+import com.br.model.NormalizacaoNome;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Versões em Java das funções da busca por nome (V7__busca_por_nome.sql) para o H2 dos testes,
+ * registradas em schema.sql. A similaridade segue o word_similarity do pg_trgm de forma simplificada
+ * (sem o tratamento de caracteres não alfanuméricos e de trigramas repetidos).
+ */
+public final class FuncoesBuscaH2 {
+
+    private static final double LIMITE_PARECIDO = 0.6;
+
+    private FuncoesBuscaH2() {
+    }
+
+    // nome_busca (V13) aproximada pela normalização da aplicação
+    public static String nomeBusca(String texto) {
+        return NormalizacaoNome.normalizar(texto);
+    }
+
+    public static Boolean nomeParecido(String termo, String nome) {
+        if (termo == null || nome == null) {
+            return null;
+        }
+        return wordSimilarity(termo, nome) >= LIMITE_PARECIDO;
+    }
+
+    // Maior similaridade entre os trigramas do termo e uma sequência contínua dos trigramas do nome
+    public static Double wordSimilarity(String termo, String nome) {
+        if (termo == null || nome == null) {
+            return null;
+        }
+        Set<String> trigramasTermo = new HashSet<>(trigramas(termo));
+        List<String> trigramasNome = trigramas(nome);
+        double maior = 0;
+        for (int inicio = 0; inicio < trigramasNome.size(); inicio++) {
+            Set<String> trecho = new HashSet<>();
+            for (int fim = inicio; fim < trigramasNome.size(); fim++) {
+                trecho.add(trigramasNome.get(fim));
+                Set<String> comuns = new HashSet<>(trecho);
+                comuns.retainAll(trigramasTermo);
+                maior = Math.max(maior,
+                    (double) comuns.size() / (trigramasTermo.size() + trecho.size() - comuns.size()));
+            }
+        }
+        return maior;
+    }
+
+    // Trigramas de cada palavra, em ordem, com dois espaços antes e um depois (como o pg_trgm)
+    private static List<String> trigramas(String texto) {
+        List<String> trigramas = new ArrayList<>();
+        for (String palavra : texto.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (palavra.isEmpty()) {
+                continue;
+            }
+            String comBordas = "  " + palavra + " ";
+            for (int i = 0; i + 3 <= comBordas.length(); i++) {
+                trigramas.add(comBordas.substring(i, i + 3));
+            }
+        }
+        return trigramas;
+    }
+}
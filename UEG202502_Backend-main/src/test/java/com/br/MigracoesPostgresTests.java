@@ -0,0 +1,99 @@
+package com.br;
+
+import com.br.dto.AlunoResumoDTO;
+import com.br.dto.TotalMensalidadeDTO;
+import com.br.model.Aluno;
+import com.br.model.NormalizacaoNome;
+import com.br.service.AlunoService;
+import com.br.service.ResumoMensalidadeService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Migrações (V1 em diante) aplicadas pelo Flyway em um PostgreSQL de verdade, embutido no teste, com a
+ * configuração de produção: o esquema resultante é validado contra as entidades (ddl-auto=validate).
+ * Confere também as funções da busca por nome (V7 e V13) contra a normalização da aplicação e as
+ * instruções específicas do PostgreSQL (ON CONFLICT dos resumos de mensalidade).
+ */
+@SpringBootTest
+@DirtiesContext
+class MigracoesPostgresTests {
+
+    @TestConfiguration
+    static class PostgresEmbutido {
+
+        @Bean(destroyMethod = "close")
+        EmbeddedPostgres postgres() throws IOException {
+            return EmbeddedPostgres.builder()
+                .setLocaleConfig("encoding", "UTF8")
+                .setLocaleConfig("locale", "C")
+                .start();
+        }
+
+        @Bean(destroyMethod = "close")
+        DataSource dataSource(EmbeddedPostgres postgres) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setDataSource(postgres.getPostgresDatabase());
+            return dataSource;
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AlunoService alunoService;
+
+    @Autowired
+    private ResumoMensalidadeService resumoMensalidadeService;
+
+    @Test
+    void todasAsMigracoesForamAplicadas() {
+        List<String> versoes = jdbcTemplate.queryForList(
+            "SELECT version FROM flyway_schema_history WHERE success ORDER BY installed_rank", String.class);
+        assertThat(versoes).contains("7", "8", "12", "13", "14");
+    }
+
+    @Test
+    void nomeBuscaDoBancoIgualANormalizacaoDaAplicacao() {
+        for (String nome : List.of("  Introdução  à\tIA ", "Straße", "STRASSE", "Søren Ølund", "Łukasz ŁOŚ",
+                "Æbleskiver", "Œuvre", "Đorđe", "Þór Ðóra", "Ħal", "ĳsbaan", "oﬃce ﬁlm ﬂor", "Ŀ ŀ", "Ŧŧ", "Ŋŋ",
+                "José  da\n Silva", "Ñandú Çedilha")) {
+            assertThat(jdbcTemplate.queryForObject("SELECT nome_busca(?)", String.class, nome))
+                .as(nome)
+                .isEqualTo(NormalizacaoNome.normalizar(nome));
+        }
+    }
+
+    @Test
+    void buscaEResumosNoPostgres() {
+        Aluno aluno = new Aluno();
+        aluno.setNome("  Søren \t Groß ");
+        aluno.setMensalidade(199.995);
+        Long codigo = alunoService.salvarAluno(aluno).getCodigo();
+
+        assertThat(alunoService.buscarAlunos("soren gross", null, null).itens())
+            .extracting(AlunoResumoDTO::codigo)
+            .containsExactly(codigo);
+        assertThat(resumoMensalidadeService.totaisPorTurma())
+            .extracting(TotalMensalidadeDTO::totalMensalidade)
+            .containsExactly(new BigDecimal("200.00"));
+
+        alunoService.excluirAluno(codigo, null);
+        assertThat(resumoMensalidadeService.totaisPorTurma()).isEmpty();
+    }
+}
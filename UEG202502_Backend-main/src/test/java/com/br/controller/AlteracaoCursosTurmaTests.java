@@ -0,0 +1,149 @@
+package com.br.controller;
+
+import com.br.model.Curso;
+import com.br.model.Turma;
+import com.br.repository.CursoRepository;
+import com.br.repository.TurmaRepository;
+import com.br.service.CalendarioAcademico;
+import com.br.service.TurmaService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * PATCH /turmas/cursos: inclusões e remoções de cursos em várias turmas, como conjuntos e em uma
+ * transação, com a data de término recalculada e o cache da coleção Turma.cursos invalidado.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AlteracaoCursosTurmaTests {
+
+    private static final Date INICIO = new Date(1_772_409_600_000L);  // 2026-03-02T00:00:00Z
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TurmaService turmaService;
+
+    @Autowired
+    private CalendarioAcademico calendario;
+
+    @Autowired
+    private TurmaRepository turmaRepository;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Curso java;
+
+    private Curso sql;
+
+    private Curso redes;
+
+    private Long turma1;
+
+    private Long turma2;
+
+    private Long turmaSemInicio;
+
+    @BeforeEach
+    void popularBanco() {
+        java = cursoRepository.save(curso("Java", 40));
+        sql = cursoRepository.save(curso("SQL", 80));
+        redes = cursoRepository.save(curso("Redes", 40));
+        turma1 = turmaRepository.save(new Turma("Matutino", new ArrayList<>(List.of(java)), INICIO, null)).getId();
+        turma2 = turmaRepository.save(new Turma("Noturno", new ArrayList<>(List.of(java)), INICIO, null)).getId();
+        turmaSemInicio = turmaRepository.save(new Turma("Noturno", new ArrayList<>(), null, null)).getId();
+    }
+
+    @AfterEach
+    void limparBanco() {
+        turmaRepository.deleteAll();
+        cursoRepository.deleteAll();
+    }
+
+    @Test
+    void aplicaAsAlteracoesComoConjuntos() throws Exception {
+        assertThat(cursosDaTurma(turma1)).containsExactly(java.getId());  // coleção no cache de segundo nível
+
+        String corpo = """
+            [{"idTurma": %d, "adicionar": [%d, %d]},
+             {"idTurma": %d, "adicionar": [%d], "remover": [%d]},
+             {"idTurma": %d, "adicionar": [%d]},
+             {"idTurma": %d, "adicionar": [%d], "remover": [%d]}]
+            """.formatted(turma1, sql.getId(), java.getId(),
+                          turma2, sql.getId(), java.getId(),
+                          turmaSemInicio, redes.getId(),
+                          turma1, redes.getId(), redes.getId());
+        mockMvc.perform(patch("/turmas/cursos").contentType(MediaType.APPLICATION_JSON).content(corpo))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3));
+
+        assertThat(cursosDaTurma(turma1)).containsExactlyInAnyOrder(java.getId(), sql.getId(), redes.getId());
+        assertThat(cursosDaTurma(turma2)).containsExactly(sql.getId());
+        assertThat(cursosDaTurma(turmaSemInicio)).containsExactly(redes.getId());
+
+        Turma primeira = turmaService.consultarTurma(turma1);
+        assertThat(primeira.getDataFim().getTime())
+                .isEqualTo(calendario.calcularDataTermino(INICIO, 160, "Matutino").getTime());
+        assertThat(primeira.getVersao()).isEqualTo(1);
+        assertThat(turmaService.consultarTurma(turma2).getDataFim().getTime())
+                .isEqualTo(calendario.calcularDataTermino(INICIO, 80, "Noturno").getTime());
+        assertThat(turmaService.consultarTurma(turmaSemInicio).getVersao()).isEqualTo(1);
+
+        // Repetir a inclusão não duplica o vínculo
+        mockMvc.perform(patch("/turmas/cursos").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"idTurma\": %d, \"adicionar\": [%d]}]".formatted(turma2, sql.getId())))
+                .andExpect(status().isOk());
+        assertThat(cursosDaTurma(turma2)).containsExactly(sql.getId());
+    }
+
+    @Test
+    void turmaOuCursoInexistenteNaoAlteraNada() throws Exception {
+        String corpo = "[{\"idTurma\": %d, \"adicionar\": [%d]}, {\"idTurma\": %d, \"adicionar\": [-1]}]"
+                .formatted(turma1, sql.getId(), turma2);
+        mockMvc.perform(patch("/turmas/cursos").contentType(MediaType.APPLICATION_JSON).content(corpo))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(patch("/turmas/cursos").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"idTurma\": -1, \"remover\": [%d]}]".formatted(java.getId())))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(patch("/turmas/cursos").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"adicionar\": [%d]}]".formatted(sql.getId())))
+                .andExpect(status().isBadRequest());
+
+        assertThat(cursosDaTurma(turma1)).containsExactly(java.getId());
+    }
+
+    private List<Long> cursosDaTurma(Long idTurma) {
+        return transactionTemplate.execute(status ->
+                turmaService.consultarTurma(idTurma).getCursos().stream().map(Curso::getId).toList());
+    }
+
+    private static Curso curso(String nome, int cargaHoraria) {
+        Curso curso = new Curso();
+        curso.setNome(nome);
+        curso.setCargaHoraria(cargaHoraria);
+        return curso;
+    }
+}
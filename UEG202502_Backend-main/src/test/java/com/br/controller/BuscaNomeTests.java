@@ -0,0 +1,135 @@
+package com.br.controller;
+
+import com.br.model.Aluno;
+import com.br.model.Curso;
+import com.br.repository.AlunoRepository;
+import com.br.repository.CursoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Busca por nome sem acentos, por trecho e aproximada, em ordem de relevância e paginada,
+ * e o nome normalizado único dos cursos.
+ * No H2 as funções do PostgreSQL são substituídas pelas de com.br.FuncoesBuscaH2.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BuscaNomeTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @BeforeEach
+    void popularBanco() {
+        for (String nome : new String[] {"Maria Silvana", "João da Silva", "Joana Souza", "Pedro Alves"}) {
+            Aluno aluno = new Aluno();
+            aluno.setNome(nome);
+            alunoRepository.save(aluno);
+        }
+        for (String nome : new String[] {"Informática Básica", "Introdução à IA"}) {
+            Curso curso = new Curso();
+            curso.setNome(nome);
+            curso.setCargaHoraria(60);
+            cursoRepository.save(curso);
+        }
+    }
+
+    @AfterEach
+    void limparBanco() {
+        alunoRepository.deleteAll();
+        cursoRepository.deleteAll();
+    }
+
+    @Test
+    void buscaAlunosSemAcentoPorTrechoEAproximada() throws Exception {
+        // "Joana" é parecido o bastante (similaridade 0,6), mas quem começa pelo termo vem primeiro
+        mockMvc.perform(get("/alunos/search").param("q", "JOAO"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens", hasSize(2)))
+                .andExpect(jsonPath("$.itens[0].nome").value("João da Silva"))
+                .andExpect(jsonPath("$.itens[1].nome").value("Joana Souza"));
+
+        // O nome exato vem antes do que só contém o trecho; com limite 1 a segunda página traz o outro
+        mockMvc.perform(get("/alunos/search").param("q", "silva").param("limite", "1"))
+                .andExpect(jsonPath("$.itens[0].nome").value("João da Silva"))
+                .andExpect(jsonPath("$.proximoCursor").value(1));
+        mockMvc.perform(get("/alunos/search").param("q", "silva").param("limite", "1").param("cursor", "1"))
+                .andExpect(jsonPath("$.itens[0].nome").value("Maria Silvana"))
+                .andExpect(jsonPath("$.proximoCursor").value(nullValue()));
+
+        mockMvc.perform(get("/alunos/search").param("q", "silvq"))
+                .andExpect(jsonPath("$.itens", hasSize(2)));
+
+        mockMvc.perform(get("/alunos/search").param("q", "jo")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void nomeComEspacosRepetidosELetrasTransliteradas() throws Exception {
+        Aluno aluno = new Aluno();
+        aluno.setNome("  Søren \t Groß  Łukasz ");
+        alunoRepository.save(aluno);
+
+        // Termo e nome normalizados pelas mesmas regras: "ø" vira "o", "ß" vira "ss" e os espaços são reduzidos
+        mockMvc.perform(get("/alunos/search").param("q", "soren   GROSS"))
+                .andExpect(jsonPath("$.itens", hasSize(1)))
+                .andExpect(jsonPath("$.itens[0].nome").value("  Søren \t Groß  Łukasz "));
+        mockMvc.perform(get("/alunos/search").param("q", "Groß Łukasz"))
+                .andExpect(jsonPath("$.itens", hasSize(1)));
+    }
+
+    @Test
+    void cursoComOMesmoNomeNormalizadoRecebe409() throws Exception {
+        mockMvc.perform(post("/cursos").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\" informatica  BASICA \",\"cargaHoraria\":40}"))
+                .andExpect(status().isConflict());
+
+        Long idIntroducao = cursoRepository.findByNomeNormalizado("introducao a ia").orElseThrow().getId();
+        mockMvc.perform(put("/cursos/{id}", idIntroducao).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"Informática básica\",\"cargaHoraria\":60}"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(put("/cursos/{id}", idIntroducao).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"Introdução à Inteligência Artificial\",\"cargaHoraria\":60}"))
+                .andExpect(status().isOk());
+
+        // A transliteração vale também para o nome único: "Straße" e "Strasse" são o mesmo curso
+        mockMvc.perform(post("/cursos").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"Straße\",\"cargaHoraria\":20}"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/cursos").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"STRASSE\",\"cargaHoraria\":20}"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void buscaCursosComPrefixoPrimeiro() throws Exception {
+        mockMvc.perform(get("/cursos/search").param("q", "introducao"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens", hasSize(1)))
+                .andExpect(jsonPath("$.itens[0].nome").value("Introdução à IA"));
+
+        mockMvc.perform(get("/cursos/search").param("q", "basica"))
+                .andExpect(jsonPath("$.itens[0].nome").value("Informática Básica"));
+    }
+}
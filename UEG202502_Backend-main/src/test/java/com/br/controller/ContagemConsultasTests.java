@@ -0,0 +1,158 @@
+package com.br.controller;
+
+import com.br.model.Aluno;
+import com.br.model.Curso;
+import com.br.model.Turma;
+import com.br.repository.AlunoRepository;
+import com.br.repository.CursoRepository;
+import com.br.repository.TurmaRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Garante que as listagens e consultas de alunos e turmas executam um número
+ * limitado de comandos SQL, independente da quantidade de linhas (sem N+1),
+ * e que um GET condicional sem alterações não executa nenhum.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ContagemConsultasTests {
+
+    private static final int TURMAS = 5;
+    private static final int ALUNOS_POR_TURMA = 20;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    @Autowired
+    private TurmaRepository turmaRepository;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estatisticas;
+
+    private Long idAluno;
+
+    private Long idTurma;
+
+    @BeforeEach
+    void popularBanco() {
+        List<Curso> cursos = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Curso curso = new Curso();
+            curso.setNome("Curso " + i);
+            curso.setCargaHoraria(40);
+            cursos.add(cursoRepository.save(curso));
+        }
+
+        List<Aluno> alunos = new ArrayList<>();
+        for (int t = 0; t < TURMAS; t++) {
+            Turma turma = turmaRepository.save(new Turma("Noturno",
+                    new ArrayList<>(List.of(cursos.get(t % 4), cursos.get((t + 1) % 4))), new Date(), null));
+            idTurma = turma.getId();
+            for (int a = 0; a < ALUNOS_POR_TURMA; a++) {
+                Aluno aluno = new Aluno();
+                aluno.setNome("Aluno " + t + "-" + a);
+                aluno.setTurma(turma);
+                aluno.setCursos(new ArrayList<>(List.of(cursos.get(a % 4), cursos.get((a + 2) % 4))));
+                alunos.add(aluno);
+            }
+        }
+        idAluno = alunoRepository.saveAll(alunos).get(0).getCodigo();
+
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+    }
+
+    @AfterEach
+    void limparBanco() {
+        alunoRepository.deleteAll();
+        turmaRepository.deleteAll();
+        cursoRepository.deleteAll();
+    }
+
+    @Test
+    void listarAlunosNaoExecutaUmaConsultaPorLinha() throws Exception {
+        mockMvc.perform(get("/alunos").param("limite", String.valueOf(TURMAS * ALUNOS_POR_TURMA)))
+                .andExpect(status().isOk());
+
+        assertThat(estatisticas.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void consultarAlunoNaoExecutaUmaConsultaPorRelacionamento() throws Exception {
+        mockMvc.perform(get("/alunos/{id}", idAluno)).andExpect(status().isOk());
+
+        assertThat(estatisticas.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void listarTurmasNaoExecutaUmaConsultaPorTurma() throws Exception {
+        mockMvc.perform(get("/turmas")).andExpect(status().isOk());
+
+        assertThat(estatisticas.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void consultarTurmaNaoExecutaUmaConsultaPorRelacionamento() throws Exception {
+        mockMvc.perform(get("/turmas/{id}", idTurma)).andExpect(status().isOk());
+
+        assertThat(estatisticas.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void listagemSemAlteracaoRespondeNotModifiedSemConsultar() throws Exception {
+        String etagCursos = mockMvc.perform(get("/cursos")).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String etagTurmas = mockMvc.perform(get("/turmas")).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        estatisticas.clear();
+
+        mockMvc.perform(get("/cursos").header(HttpHeaders.IF_NONE_MATCH, etagCursos))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/turmas").header(HttpHeaders.IF_NONE_MATCH, etagTurmas))
+                .andExpect(status().isNotModified());
+        assertThat(estatisticas.getPrepareStatementCount()).isZero();
+
+        // Renomear um curso muda as duas listagens (as turmas exibem o nome dos cursos)
+        Long idCurso = cursoRepository.findAll().get(0).getId();
+        mockMvc.perform(put("/cursos/{id}", idCurso).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"Curso renomeado\",\"cargaHoraria\":40}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/cursos").header(HttpHeaders.IF_NONE_MATCH, etagCursos))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etagCursos)));
+        mockMvc.perform(get("/turmas").header(HttpHeaders.IF_NONE_MATCH, etagTurmas))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,90 @@
+package com.br.controller;
+
+import com.br.model.Aluno;
+import com.br.model.Turma;
+import com.br.repository.AlunoRepository;
+import com.br.repository.TurmaRepository;
+import com.br.service.AlunoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ExportacaoTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    @Autowired
+    private TurmaRepository turmaRepository;
+
+    @Autowired
+    private AlunoService alunoService;
+
+    @BeforeEach
+    void popularBanco() {
+        Turma turma = turmaRepository.save(new Turma("Noturno", null, new Date(), null));
+        for (String nome : new String[] {"Ana", "Silva, Bruno", "Carla"}) {
+            Aluno aluno = new Aluno();
+            aluno.setNome(nome);
+            aluno.setTurma(turma);
+            aluno.setSemestre(1);
+            alunoService.salvarAluno(aluno);
+        }
+    }
+
+    @AfterEach
+    void limparBanco() {
+        alunoRepository.deleteAll();
+        turmaRepository.deleteAll();
+    }
+
+    @Test
+    void exportaAlunosEmCsv() throws Exception {
+        String csv = exportar("/exportacao/alunos?formato=csv").getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        assertThat(csv.split("\n")).hasSize(4);
+        assertThat(csv).startsWith("codigo,nome,dataMatricula,mensalidade,semestre,bolsista,turma,turno\n");
+        assertThat(csv).contains(",\"Silva, Bruno\",,,1,,");
+    }
+
+    @Test
+    void exportaTurmasEmNdjsonCompactado() throws Exception {
+        MvcResult resultado = exportar("/exportacao/turmas?formato=ndjson&gzip=true");
+        byte[] corpo = resultado.getResponse().getContentAsByteArray();
+
+        String ndjson;
+        try (GZIPInputStream descompactado = new GZIPInputStream(new ByteArrayInputStream(corpo))) {
+            ndjson = new String(descompactado.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        assertThat(resultado.getResponse().getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(ndjson.trim().split("\n")).hasSize(1);
+        assertThat(ndjson).startsWith("{\"id\":").contains("\"quantidadeAlunos\":3");
+    }
+
+    private MvcResult exportar(String url) throws Exception {
+        MvcResult assincrono = mockMvc.perform(get(url)).andReturn();
+        return mockMvc.perform(asyncDispatch(assincrono)).andExpect(status().isOk()).andReturn();
+    }
+}
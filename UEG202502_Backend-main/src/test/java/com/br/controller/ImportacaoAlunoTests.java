@@ -0,0 +1,81 @@
+package com.br.controller;
+
+import com.br.model.Turma;
+import com.br.repository.AlunoRepository;
+import com.br.repository.TurmaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.importacao.tamanho-lote=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ImportacaoAlunoTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    @Autowired
+    private TurmaRepository turmaRepository;
+
+    @AfterEach
+    void limparBanco() {
+        alunoRepository.deleteAll();
+        turmaRepository.deleteAll();
+    }
+
+    @Test
+    void importaCsvEInformaAsLinhasRejeitadas() throws Exception {
+        Turma turma = turmaRepository.save(new Turma("Matutino", null, new Date(), null));
+        String csv = "nome,dataMatricula,mensalidade,semestre,bolsista,turma\n"
+                + "Ana,2025-02-01,350.0,1,false," + turma.getId() + "\n"
+                + ",2025-02-01,350.0,1,false,\n"
+                + "\"Silva, Bruno\",2025-02-01,300.0,2,true,\n"
+                + "Carla,2025-02-01,300.0,2,true,999999\n"
+                + "Davi,01/02/2025,300.0,2,true,\n";
+
+        mockMvc.perform(post("/alunos/lote").contentType("text/csv").content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(5))
+                .andExpect(jsonPath("$.importados").value(2))
+                .andExpect(jsonPath("$.linhas[1].erro").value("Nome do aluno é obrigatório"))
+                .andExpect(jsonPath("$.linhas[3].sucesso").value(false))
+                .andExpect(jsonPath("$.linhas[4].sucesso").value(false));
+
+        assertThat(alunoRepository.count()).isEqualTo(2);
+        assertThat(turmaRepository.contarAlunos(turma.getId())).isEqualTo(1);
+        assertThat(turmaRepository.findById(turma.getId()).orElseThrow().getQuantidadeAlunos()).isEqualTo(1);
+    }
+
+    @Test
+    void importaJsonENdjson() throws Exception {
+        mockMvc.perform(post("/alunos/lote").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"nome\":\"Ana\"},{\"nome\":\"Bruno\",\"semestre\":2},{\"nome\":\" \"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importados").value(2))
+                .andExpect(jsonPath("$.rejeitados").value(1));
+
+        mockMvc.perform(post("/alunos/lote").contentType("application/x-ndjson")
+                        .content("{\"nome\":\"Carla\"}\n{\"nome\":\n{\"nome\":\"Davi\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importados").value(2))
+                .andExpect(jsonPath("$.linhas[1].sucesso").value(false));
+
+        assertThat(alunoRepository.count()).isEqualTo(4);
+    }
+}
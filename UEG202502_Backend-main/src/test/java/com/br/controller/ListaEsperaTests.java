@@ -0,0 +1,159 @@
+package com.br.controller;
+
+import com.br.model.Turma;
+import com.br.repository.AlunoRepository;
+import com.br.repository.ListaEsperaRepository;
+import com.br.repository.TurmaRepository;
+import com.br.service.AlunoService;
+import com.br.service.ListaEsperaService;
+import com.br.service.ResumoMensalidadeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.reset;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Garante que a lista de espera é atendida na ordem de inscrição quando a turma
+ * perde um aluno (exclusão ou troca de turma), e que uma troca de turma concorrente
+ * com a promoção não é sobrescrita. As promoções são disparadas pelo teste: o intervalo da tarefa
+ * agendada é longo o bastante para que ela não processe a fila ao mesmo tempo.
+ */
+@SpringBootTest(properties = "app.lista-espera.intervalo-ms=3600000")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ListaEsperaTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ListaEsperaService listaEsperaService;
+
+    @Autowired
+    private ListaEsperaRepository listaEsperaRepository;
+
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    @Autowired
+    private TurmaRepository turmaRepository;
+
+    @Autowired
+    private AlunoService alunoService;
+
+    @MockitoSpyBean
+    private ResumoMensalidadeService resumoMensalidade;
+
+    @AfterEach
+    void limparBanco() {
+        reset(resumoMensalidade);
+        listaEsperaRepository.deleteAll();
+        alunoRepository.deleteAll();
+        turmaRepository.deleteAll();
+    }
+
+    @Test
+    void promoveOPrimeiroDaFilaQuandoAbreVaga() throws Exception {
+        Turma lotada = new Turma("Matutino", null, new Date(), null);
+        lotada.setCapacidade(1);
+        Long idTurma = turmaRepository.save(lotada).getId();
+        Long outraTurma = turmaRepository.save(new Turma("Noturno", null, new Date(), null)).getId();
+
+        long ana = cadastrar("{\"nome\":\"Ana\",\"turma\":{\"id\":" + idTurma + "}}");
+        long bruno = cadastrar("{\"nome\":\"Bruno\"}");
+        long carla = cadastrar("{\"nome\":\"Carla\"}");
+
+        mockMvc.perform(post("/turmas/{id}/lista-espera/{aluno}", idTurma, bruno))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.posicao").value(1));
+        mockMvc.perform(post("/turmas/{id}/lista-espera/{aluno}", idTurma, carla))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.posicao").value(2));
+        listaEsperaService.processarPromocoes();
+        mockMvc.perform(get("/turmas/{id}/lista-espera", idTurma)).andExpect(jsonPath("$.length()").value(2));
+
+        // Ana sai: Bruno (primeiro da fila) entra
+        mockMvc.perform(delete("/alunos/{id}", ana)).andExpect(status().isNoContent());
+        listaEsperaService.processarPromocoes();
+        mockMvc.perform(get("/alunos/{id}", bruno)).andExpect(jsonPath("$.turma.id").value(idTurma));
+        mockMvc.perform(get("/turmas/{id}/lista-espera", idTurma))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].codigoAluno").value(carla))
+                .andExpect(jsonPath("$[0].posicao").value(1));
+
+        // Bruno troca de turma: Carla entra
+        mockMvc.perform(put("/alunos/{id}/turma/{idTurma}", bruno, outraTurma)).andExpect(status().isOk());
+        listaEsperaService.processarPromocoes();
+        mockMvc.perform(get("/alunos/{id}", carla)).andExpect(jsonPath("$.turma.id").value(idTurma));
+        mockMvc.perform(get("/turmas/{id}/lista-espera", idTurma)).andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get("/turmas/{id}", idTurma)).andExpect(jsonPath("$.quantidadeAlunos").value(1));
+    }
+
+    @Test
+    void trocaDeTurmaDuranteAPromocaoNaoESobrescrita() throws Exception {
+        Long origem = turmaRepository.save(new Turma("Matutino", null, new Date(), null)).getId();
+        Long destino = turmaRepository.save(new Turma("Vespertino", null, new Date(), null)).getId();
+        Long outra = turmaRepository.save(new Turma("Noturno", null, new Date(), null)).getId();
+        long bruno = cadastrar("{\"nome\":\"Bruno\",\"turma\":{\"id\":" + origem + "}}");
+        mockMvc.perform(post("/turmas/{id}/lista-espera/{aluno}", destino, bruno)).andExpect(status().isCreated());
+
+        // Depois que a promoção lê o aluno, outra requisição o move para "outra" e grava antes da troca
+        AtomicBoolean interceptar = new AtomicBoolean(true);
+        doAnswer(invocacao -> {
+            Object lido = invocacao.callRealMethod();
+            if (interceptar.getAndSet(false)) {
+                CompletableFuture.runAsync(() -> alunoService.matricularNaTurma(bruno, outra))
+                        .get(10, TimeUnit.SECONDS);
+            }
+            return lido;
+        }).when(resumoMensalidade).contribuicaoAtual(bruno);
+
+        listaEsperaService.processarPromocoes();
+        mockMvc.perform(get("/alunos/{id}", bruno)).andExpect(jsonPath("$.turma.id").value(outra));
+        mockMvc.perform(get("/turmas/{id}", origem)).andExpect(jsonPath("$.quantidadeAlunos").value(0));
+        mockMvc.perform(get("/turmas/{id}", outra)).andExpect(jsonPath("$.quantidadeAlunos").value(1));
+        mockMvc.perform(get("/turmas/{id}", destino)).andExpect(jsonPath("$.quantidadeAlunos").value(0));
+        mockMvc.perform(get("/turmas/{id}/lista-espera", destino)).andExpect(jsonPath("$.length()").value(1));
+
+        // No ciclo seguinte a promoção parte da turma em que o aluno está de fato
+        listaEsperaService.processarPromocoes();
+        mockMvc.perform(get("/alunos/{id}", bruno)).andExpect(jsonPath("$.turma.id").value(destino));
+        mockMvc.perform(get("/turmas/{id}", outra)).andExpect(jsonPath("$.quantidadeAlunos").value(0));
+        mockMvc.perform(get("/turmas/{id}", destino)).andExpect(jsonPath("$.quantidadeAlunos").value(1));
+        mockMvc.perform(get("/mensalidades/por-turma"))
+                .andExpect(jsonPath("$[?(@.chave == %d)].quantidadeAlunos", destino).value(1))
+                .andExpect(jsonPath("$[?(@.chave == %d)]", origem).isEmpty())
+                .andExpect(jsonPath("$[?(@.chave == %d)]", outra).isEmpty());
+    }
+
+    private long cadastrar(String aluno) throws Exception {
+        String resposta = mockMvc.perform(post("/alunos").contentType(MediaType.APPLICATION_JSON).content(aluno))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(resposta).get("codigo").asLong();
+    }
+}
@@ -0,0 +1,147 @@
+package com.br.controller;
+
+import com.br.model.Aluno;
+import com.br.model.Curso;
+import com.br.model.Turma;
+import com.br.repository.AlunoRepository;
+import com.br.repository.CursoRepository;
+import com.br.repository.TurmaRepository;
+import com.br.repository.projecao.CursoVinculadoProjecao;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * /matriculas: uma turma inteira e alunos avulsos matriculados em lote (em lotes de 2 alunos),
+ * com os pares já existentes ignorados, e o cancelamento com o mesmo corpo.
+ */
+@SpringBootTest(properties = "app.matricula.tamanho-lote=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MatriculaLoteTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    @Autowired
+    private TurmaRepository turmaRepository;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    private Long idTurma;
+
+    private List<Long> alunosDaTurma;
+
+    private List<Long> avulsos;
+
+    private Long java;
+
+    private Long sql;
+
+    @BeforeEach
+    void popularBanco() {
+        Curso cursoJava = cursoRepository.save(curso("Java"));
+        java = cursoJava.getId();
+        sql = cursoRepository.save(curso("SQL")).getId();
+        Turma turma = turmaRepository.save(new Turma("Noturno", new ArrayList<>(), new Date(), null));
+        idTurma = turma.getId();
+
+        alunosDaTurma = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Aluno aluno = aluno("Aluno " + i, turma);
+            if (i == 0) {
+                aluno.setCursos(new ArrayList<>(List.of(cursoJava)));  // já matriculado em Java
+            }
+            alunosDaTurma.add(alunoRepository.save(aluno).getCodigo());
+        }
+        avulsos = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            avulsos.add(alunoRepository.save(aluno("Avulso " + i, null)).getCodigo());
+        }
+    }
+
+    @AfterEach
+    void limparBanco() {
+        alunoRepository.deleteAll();
+        turmaRepository.deleteAll();
+        cursoRepository.deleteAll();
+    }
+
+    @Test
+    void matriculaTurmaEAlunosIgnorandoOsParesExistentes() throws Exception {
+        // O primeiro aluno da turma também vem na lista de alunos: os pares repetidos contam uma vez
+        String corpo = "{\"turmas\": [%d], \"alunos\": [%d, %d, %d, %d], \"cursos\": [%d, %d]}"
+                .formatted(idTurma, avulsos.get(0), avulsos.get(1), avulsos.get(2), alunosDaTurma.get(0), java, sql);
+        mockMvc.perform(post("/matriculas").contentType(MediaType.APPLICATION_JSON).content(corpo))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matriculas").value(11));
+        assertThat(matriculas()).hasSize(12);
+        assertThat(alunoRepository.findById(avulsos.get(0)).orElseThrow().getVersao()).isEqualTo(1);
+
+        mockMvc.perform(post("/matriculas").contentType(MediaType.APPLICATION_JSON).content(corpo))
+                .andExpect(jsonPath("$.matriculas").value(0));
+        assertThat(matriculas()).hasSize(12);
+
+        mockMvc.perform(delete("/matriculas").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"turmas\": [%d], \"cursos\": [%d]}".formatted(idTurma, sql)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matriculas").value(3));
+        assertThat(matriculas()).hasSize(9)
+                .noneMatch(m -> alunosDaTurma.contains(m.getIdDono()) && m.getId().equals(sql));
+    }
+
+    @Test
+    void dadosInvalidosNaoMatriculamNinguem() throws Exception {
+        mockMvc.perform(post("/matriculas").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"turmas\": [%d], \"cursos\": [%d, -1]}".formatted(idTurma, sql)))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/matriculas").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"alunos\": [%d, -1], \"cursos\": [%d]}".formatted(avulsos.get(0), sql)))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/matriculas").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"alunos\": [%d]}".formatted(avulsos.get(0))))
+                .andExpect(status().isBadRequest());
+
+        assertThat(matriculas()).hasSize(1);
+    }
+
+    private List<CursoVinculadoProjecao> matriculas() {
+        List<Long> todos = new ArrayList<>(alunosDaTurma);
+        todos.addAll(avulsos);
+        return alunoRepository.buscarCursosDosAlunos(todos);
+    }
+
+    private static Aluno aluno(String nome, Turma turma) {
+        Aluno aluno = new Aluno();
+        aluno.setNome(nome);
+        aluno.setTurma(turma);
+        return aluno;
+    }
+
+    private static Curso curso(String nome) {
+        Curso curso = new Curso();
+        curso.setNome(nome);
+        curso.setCargaHoraria(40);
+        return curso;
+    }
+}
@@ -0,0 +1,49 @@
+package com.br.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Garante que o endpoint de scrape do Prometheus publica os timers das requisições e dos
+ * repositórios (com histograma), o pool do Hikari, as estatísticas do Hibernate e o catálogo.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+class MetricasTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void publicaMetricasNoFormatoPrometheus() throws Exception {
+        mockMvc.perform(get("/alunos")).andExpect(status().isOk());
+        mockMvc.perform(get("/turmas")).andExpect(status().isOk());
+
+        String metricas = mockMvc.perform(get("/actuator/prometheus"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+
+        assertThat(metricas)
+            .contains("http_server_requests_seconds_bucket")
+            .contains("uri=\"/alunos\"")
+            .contains("uri=\"/turmas\"")
+            .contains("spring_data_repository_invocations_seconds_bucket")
+            .contains("repository=\"TurmaRepository\"")
+            .contains("hikaricp_connections_active")
+            .contains("hibernate_query_executions_total")
+            .contains("hibernate_entities_loads_total")
+            .contains("hibernate_collections_fetches_total")
+            .contains("catalogo_cursos_consultas_total");
+    }
+}
@@ -0,0 +1,183 @@
+package com.br.controller;
+
+import com.br.model.Aluno;
+import com.br.model.Curso;
+import com.br.model.Turma;
+import com.br.repository.AlunoRepository;
+import com.br.repository.CursoRepository;
+import com.br.repository.TurmaRepository;
+import com.br.service.AlunoService;
+import com.br.service.CursoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ETag nas consultas e If-Match nas alterações: uma gravação baseada em uma versão
+ * antiga recebe 412 em vez de sobrescrever a alteração de outro usuário. O ETag das
+ * listagens só muda quando a gravação é confirmada (commit).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PrecondicoesTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    @Autowired
+    private TurmaRepository turmaRepository;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private CursoService cursoService;
+
+    @Autowired
+    private AlunoService alunoService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void limparBanco() {
+        alunoRepository.deleteAll();
+        turmaRepository.deleteAll();
+        cursoRepository.deleteAll();
+    }
+
+    @Test
+    void turmaComVersaoAntigaRecebe412() throws Exception {
+        Long id = turmaRepository.save(new Turma("Matutino", null, new Date(), null)).getId();
+
+        mockMvc.perform(get("/turmas/{id}", id)).andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+        mockMvc.perform(get("/turmas/{id}", id).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(put("/turmas/{id}", id).header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"turno\":\"Noturno\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+        mockMvc.perform(put("/turmas/{id}", id).header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"turno\":\"Vespertino\"}"))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(delete("/turmas/{id}", id).header(HttpHeaders.IF_MATCH, "\"0\""))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(delete("/turmas/{id}", id).header(HttpHeaders.IF_MATCH, "\"1\""))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void alunoECursoComVersaoAntigaRecebem412() throws Exception {
+        String resposta = mockMvc.perform(post("/alunos").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"Ana\"}"))
+                .andReturn().getResponse().getContentAsString();
+        long codigo = objectMapper.readTree(resposta).get("codigo").asLong();
+
+        mockMvc.perform(put("/alunos/{id}", codigo).header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"nome\":\"Ana Maria\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+        mockMvc.perform(put("/alunos/{id}", codigo).header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"nome\":\"Ana Clara\"}"))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(get("/alunos/{id}", codigo)).andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+        mockMvc.perform(delete("/alunos/{id}", codigo).header(HttpHeaders.IF_MATCH, "\"0\""))
+                .andExpect(status().isPreconditionFailed());
+
+        Curso curso = new Curso();
+        curso.setNome("Excel Avançado");
+        curso.setCargaHoraria(90);
+        Long idCurso = cursoRepository.save(curso).getId();
+        mockMvc.perform(put("/cursos/{id}", idCurso).header(HttpHeaders.IF_MATCH, "\"7\"")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"nome\":\"Excel\",\"cargaHoraria\":80}"))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(put("/cursos/{id}", idCurso).header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"nome\":\"Excel\",\"cargaHoraria\":80}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+    }
+
+    @Test
+    void etagDaListagemSoMudaComGravacaoConfirmada() throws Exception {
+        Curso curso = new Curso();
+        curso.setNome("Excel Avançado");
+        curso.setCargaHoraria(90);
+        Long idCurso = cursoRepository.save(curso).getId();
+        Long idTurma = turmaRepository.save(new Turma("Matutino", null, new Date(), null)).getId();
+        String etagCursos = etagDaListagem("/cursos");
+        String etagTurmas = etagDaListagem("/turmas");
+
+        // Edição do curso e inclusão de aluno desfeitas (rollback): as listagens continuam as mesmas
+        transactionTemplate.executeWithoutResult(status -> {
+            Curso dados = new Curso();
+            dados.setNome("Excel");
+            dados.setCargaHoraria(80);
+            cursoService.editarCurso(idCurso, dados, null);
+            Aluno aluno = new Aluno();
+            aluno.setNome("Ana");
+            aluno.setTurma(turmaRepository.getReferenceById(idTurma));
+            alunoService.salvarAluno(aluno);
+            status.setRollbackOnly();
+        });
+        mockMvc.perform(get("/cursos").header(HttpHeaders.IF_NONE_MATCH, etagCursos))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/turmas").header(HttpHeaders.IF_NONE_MATCH, etagTurmas))
+                .andExpect(status().isNotModified());
+        assertThat(etagDaListagem("/cursos")).isEqualTo(etagCursos);
+        assertThat(etagDaListagem("/turmas")).isEqualTo(etagTurmas);
+
+        // Confirmadas (commit), a edição do curso muda as duas listagens e a inclusão do aluno, a das turmas
+        transactionTemplate.executeWithoutResult(status -> {
+            Curso dados = new Curso();
+            dados.setNome("Excel");
+            dados.setCargaHoraria(80);
+            cursoService.editarCurso(idCurso, dados, null);
+        });
+        mockMvc.perform(get("/cursos").header(HttpHeaders.IF_NONE_MATCH, etagCursos))
+                .andExpect(status().isOk());
+        assertThat(etagDaListagem("/cursos")).isNotEqualTo(etagCursos);
+        String etagTurmasAposCurso = etagDaListagem("/turmas");
+        assertThat(etagTurmasAposCurso).isNotEqualTo(etagTurmas);
+
+        Aluno aluno = new Aluno();
+        aluno.setNome("Ana");
+        aluno.setTurma(turmaRepository.getReferenceById(idTurma));
+        alunoService.salvarAluno(aluno);
+        mockMvc.perform(get("/turmas").header(HttpHeaders.IF_NONE_MATCH, etagTurmasAposCurso))
+                .andExpect(status().isOk());
+        assertThat(etagDaListagem("/turmas")).isNotEqualTo(etagTurmasAposCurso);
+    }
+
+    private String etagDaListagem(String url) throws Exception {
+        return mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
@@ -0,0 +1,152 @@
+package com.br.controller;
+
+import com.br.model.Aluno;
+import com.br.model.Turma;
+import com.br.repository.AlunoRepository;
+import com.br.repository.TurmaRepository;
+import com.br.service.AlunoService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Garante que a quantidade de alunos da turma acompanha a inclusão, a troca de turma
+ * e a exclusão de alunos pela API, respeitando a capacidade da turma, e as respostas de erro
+ * da matrícula na turma.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QuantidadeAlunosTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    @Autowired
+    private TurmaRepository turmaRepository;
+
+    @MockitoSpyBean
+    private AlunoService alunoService;
+
+    @AfterEach
+    void limparBanco() {
+        reset(alunoService);
+        alunoRepository.deleteAll();
+        turmaRepository.deleteAll();
+    }
+
+    @Test
+    void acompanhaInclusaoTrocaDeTurmaEExclusao() throws Exception {
+        Long turmaA = turmaRepository.save(new Turma("Matutino", null, new Date(), null)).getId();
+        Long turmaB = turmaRepository.save(new Turma("Noturno", null, new Date(), null)).getId();
+
+        String resposta = mockMvc.perform(post("/alunos").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"Ana\",\"turma\":{\"id\":" + turmaA + "}}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode aluno = objectMapper.readTree(resposta);
+        long codigo = aluno.get("codigo").asLong();
+        mockMvc.perform(post("/alunos").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"Bruno\",\"turma\":{\"id\":" + turmaA + "}}"))
+                .andExpect(status().isCreated());
+        verificarQuantidade(turmaA, 2);
+
+        mockMvc.perform(put("/alunos/{id}", codigo).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"turma\":{\"id\":" + turmaB + "}}"))
+                .andExpect(status().isOk());
+        verificarQuantidade(turmaA, 1);
+        verificarQuantidade(turmaB, 1);
+
+        mockMvc.perform(put("/alunos/{id}", codigo).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"Ana Maria\"}"))
+                .andExpect(status().isOk());
+        verificarQuantidade(turmaB, 1);
+
+        mockMvc.perform(delete("/alunos/{id}", codigo)).andExpect(status().isNoContent());
+        verificarQuantidade(turmaA, 1);
+        verificarQuantidade(turmaB, 0);
+
+        mockMvc.perform(get("/turmas"))
+                .andExpect(jsonPath("$[?(@.id == " + turmaA + ")].quantidadeAlunos").value(1));
+    }
+
+    @Test
+    void recusaMatriculaEmTurmaLotada() throws Exception {
+        Turma turma = new Turma("Matutino", null, new Date(), null);
+        turma.setCapacidade(1);
+        Long idTurma = turmaRepository.save(turma).getId();
+
+        mockMvc.perform(post("/alunos").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"Ana\",\"turma\":{\"id\":" + idTurma + "}}"))
+                .andExpect(status().isCreated());
+        String resposta = mockMvc.perform(post("/alunos").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"Bruno\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long codigo = objectMapper.readTree(resposta).get("codigo").asLong();
+
+        mockMvc.perform(put("/alunos/{id}/turma/{idTurma}", codigo, idTurma)).andExpect(status().isConflict());
+        verificarQuantidade(idTurma, 1);
+        mockMvc.perform(get("/turmas/{id}", idTurma)).andExpect(jsonPath("$.capacidade").value(1));
+    }
+
+    @Test
+    void matriculaNaTurmaSoResponde404QuandoAlunoOuTurmaNaoExistem() throws Exception {
+        Long idTurma = turmaRepository.save(new Turma("Matutino", null, new Date(), null)).getId();
+        Aluno aluno = new Aluno();
+        aluno.setNome("Ana");
+        Long codigo = alunoRepository.save(aluno).getCodigo();
+
+        mockMvc.perform(put("/alunos/{id}/turma/{idTurma}", codigo + 1000, idTurma)).andExpect(status().isNotFound());
+        mockMvc.perform(put("/alunos/{id}/turma/{idTurma}", codigo, idTurma + 1000)).andExpect(status().isNotFound());
+        mockMvc.perform(put("/alunos/{id}/turma/{idTurma}", 0, idTurma)).andExpect(status().isBadRequest());
+        verificarQuantidade(idTurma, 0);
+
+        // Aluno alterado por outra requisição durante a matrícula
+        doThrow(new ObjectOptimisticLockingFailureException(Aluno.class, codigo))
+                .when(alunoService).matricularNaTurma(codigo, idTurma);
+        mockMvc.perform(put("/alunos/{id}/turma/{idTurma}", codigo, idTurma)).andExpect(status().isConflict());
+
+        // Qualquer outra falha segue para o tratamento de erros (500), sem virar 404
+        doThrow(new IllegalStateException("falha inesperada")).when(alunoService).matricularNaTurma(codigo, idTurma);
+        assertThatThrownBy(() -> mockMvc.perform(put("/alunos/{id}/turma/{idTurma}", codigo, idTurma)))
+                .hasRootCauseInstanceOf(IllegalStateException.class);
+
+        reset(alunoService);
+        mockMvc.perform(put("/alunos/{id}/turma/{idTurma}", codigo, idTurma)).andExpect(status().isOk());
+        verificarQuantidade(idTurma, 1);
+    }
+
+    private void verificarQuantidade(Long idTurma, long quantidade) throws Exception {
+        mockMvc.perform(get("/turmas/{id}", idTurma))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantidadeAlunos").value(quantidade));
+    }
+}
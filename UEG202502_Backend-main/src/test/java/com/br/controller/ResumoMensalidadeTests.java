@@ -0,0 +1,223 @@
+package com.br.controller;
+
+import com.br.dto.TotalMensalidadeDTO;
+import com.br.model.Aluno;
+import com.br.model.Curso;
+import com.br.model.Turma;
+import com.br.repository.AlunoRepository;
+import com.br.repository.CursoRepository;
+import com.br.repository.ResumoMensalidadeCursoRepository;
+import com.br.repository.ResumoMensalidadeRepository;
+import com.br.repository.TurmaRepository;
+import com.br.repository.projecao.CursoVinculadoProjecao;
+import com.br.service.AlunoService;
+import com.br.service.ResumoMensalidadeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * /mensalidades: os resumos mantidos a cada inclusão, alteração, troca de turma, exclusão e matrícula
+ * em lote chegam aos mesmos totais que um GROUP BY sobre os alunos.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ResumoMensalidadeTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AlunoService alunoService;
+
+    @Autowired
+    private ResumoMensalidadeService resumoMensalidadeService;
+
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    @Autowired
+    private TurmaRepository turmaRepository;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private ResumoMensalidadeRepository resumoRepository;
+
+    @Autowired
+    private ResumoMensalidadeCursoRepository resumoCursoRepository;
+
+    private Turma manha;
+
+    private Turma noite;
+
+    private Curso java;
+
+    private Curso sql;
+
+    @BeforeEach
+    void popularBanco() {
+        // Outros testes gravam alunos direto pelo repositório, sem passar pelos resumos
+        resumoRepository.deleteAll();
+        resumoCursoRepository.deleteAll();
+
+        java = cursoRepository.save(curso("Java"));
+        sql = cursoRepository.save(curso("SQL"));
+        manha = turmaRepository.save(new Turma("Matutino", new ArrayList<>(), new Date(), null));
+        noite = turmaRepository.save(new Turma("Noturno", new ArrayList<>(), new Date(), null));
+    }
+
+    @AfterEach
+    void limparBanco() {
+        alunoRepository.deleteAll();
+        turmaRepository.deleteAll();
+        cursoRepository.deleteAll();
+        resumoRepository.deleteAll();
+        resumoCursoRepository.deleteAll();
+    }
+
+    @Test
+    void resumosAcompanhamAsGravacoesDosAlunos() throws Exception {
+        Aluno ana = alunoService.salvarAluno(aluno("Ana", manha, 1, true, 350.10, java, sql));
+        Aluno bruno = alunoService.salvarAluno(aluno("Bruno", manha, 1, false, 500.005, java));
+        Aluno carla = alunoService.salvarAluno(aluno("Carla", null, null, null, 420.0));
+        Aluno davi = alunoService.salvarAluno(aluno("Davi", noite, 2, false, null, sql));
+
+        mockMvc.perform(get("/mensalidades/por-bolsista"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].chave").value(false))
+                .andExpect(jsonPath("$[0].quantidadeAlunos").value(3))
+                .andExpect(jsonPath("$[0].totalMensalidade").value(920.01))
+                .andExpect(jsonPath("$[1].chave").value(true))
+                .andExpect(jsonPath("$[1].totalMensalidade").value(350.10));
+        conferirTotais();
+
+        // Alteração de valores e cursos, troca de turma e exclusão
+        Aluno dadosBruno = alunoService.consultarAluno(bruno.getCodigo());
+        dadosBruno.setMensalidade(275.5);
+        dadosBruno.setBolsista(true);
+        dadosBruno.setSemestre(2);
+        dadosBruno.setCursos(new ArrayList<>(List.of(sql)));
+        alunoService.salvarAluno(dadosBruno);
+        alunoService.matricularNaTurma(carla.getCodigo(), noite.getId());
+        alunoService.matricularNaTurma(ana.getCodigo(), noite.getId());
+        alunoService.excluirAluno(davi.getCodigo(), null);
+        conferirTotais();
+
+        assertThat(resumoMensalidadeService.totaisPorTurma())
+                .extracting(TotalMensalidadeDTO::chave)
+                .containsExactly(manha.getId(), noite.getId());
+    }
+
+    @Test
+    void matriculaEmLoteRecalculaOsCursos() throws Exception {
+        alunoService.salvarAluno(aluno("Ana", manha, 1, false, 100.0, java));
+        alunoService.salvarAluno(aluno("Bruno", manha, 1, false, 200.0));
+        alunoService.salvarAluno(aluno("Carla", noite, 1, false, 300.0));
+
+        mockMvc.perform(post("/matriculas").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"turmas\": [%d], \"cursos\": [%d, %d]}".formatted(manha.getId(), java.getId(), sql.getId())))
+                .andExpect(status().isOk());
+        conferirTotais();
+
+        mockMvc.perform(get("/mensalidades/por-curso"))
+                .andExpect(jsonPath("$[0].chave").value(java.getId()))
+                .andExpect(jsonPath("$[0].quantidadeAlunos").value(2))
+                .andExpect(jsonPath("$[0].totalMensalidade").value(300.0));
+    }
+
+    // Compara cada resumo com o agrupamento feito diretamente sobre os alunos gravados
+    private void conferirTotais() {
+        List<Aluno> alunos = alunoRepository.findAll();
+        assertThat(totais(resumoMensalidadeService.totaisPorTurma()))
+                .isEqualTo(agrupar(alunos, a -> a.getTurma() == null ? null : a.getTurma().getId()));
+        assertThat(totais(resumoMensalidadeService.totaisPorSemestre()))
+                .isEqualTo(agrupar(alunos, Aluno::getSemestre));
+        assertThat(totais(resumoMensalidadeService.totaisPorBolsista()))
+                .isEqualTo(agrupar(alunos, a -> Boolean.TRUE.equals(a.getBolsista())));
+
+        Map<Long, Aluno> porCodigo = new HashMap<>();
+        alunos.forEach(a -> porCodigo.put(a.getCodigo(), a));
+        List<Aluno> matriculas = new ArrayList<>();
+        List<Long> cursos = new ArrayList<>();
+        for (CursoVinculadoProjecao matricula : alunoRepository.buscarCursosDosAlunos(porCodigo.keySet())) {
+            matriculas.add(porCodigo.get(matricula.getIdDono()));
+            cursos.add(matricula.getId());
+        }
+        Map<Object, String> esperadoPorCurso = new HashMap<>();
+        for (Long idCurso : cursos.stream().distinct().toList()) {
+            List<Aluno> doCurso = new ArrayList<>();
+            for (int i = 0; i < cursos.size(); i++) {
+                if (cursos.get(i).equals(idCurso)) {
+                    doCurso.add(matriculas.get(i));
+                }
+            }
+            esperadoPorCurso.putAll(agrupar(doCurso, a -> idCurso));
+        }
+        assertThat(totais(resumoMensalidadeService.totaisPorCurso())).isEqualTo(esperadoPorCurso);
+    }
+
+    private static Map<Object, String> totais(List<? extends TotalMensalidadeDTO<?>> totais) {
+        Map<Object, String> mapa = new HashMap<>();
+        totais.forEach(t -> mapa.put(t.chave(), t.quantidadeAlunos() + " / " + t.totalMensalidade().setScale(2)));
+        return mapa;
+    }
+
+    private static Map<Object, String> agrupar(List<Aluno> alunos, Function<Aluno, Object> chave) {
+        Map<Object, List<Aluno>> grupos = new HashMap<>();
+        alunos.forEach(a -> grupos.computeIfAbsent(chave.apply(a), k -> new ArrayList<>()).add(a));
+        Map<Object, String> mapa = new HashMap<>();
+        grupos.forEach((k, lista) -> {
+            BigDecimal total = BigDecimal.ZERO.setScale(2);
+            for (Aluno a : lista) {
+                if (a.getMensalidade() != null) {
+                    total = total.add(BigDecimal.valueOf(a.getMensalidade()).setScale(2, RoundingMode.HALF_UP));
+                }
+            }
+            mapa.put(k, lista.size() + " / " + total);
+        });
+        return mapa;
+    }
+
+    private static Aluno aluno(String nome, Turma turma, Integer semestre, Boolean bolsista, Double mensalidade,
+                               Curso... cursos) {
+        Aluno aluno = new Aluno();
+        aluno.setNome(nome);
+        aluno.setTurma(turma);
+        aluno.setSemestre(semestre);
+        aluno.setBolsista(bolsista);
+        aluno.setMensalidade(mensalidade);
+        aluno.setCursos(new ArrayList<>(List.of(cursos)));
+        return aluno;
+    }
+
+    private static Curso curso(String nome) {
+        Curso curso = new Curso();
+        curso.setNome(nome);
+        curso.setCargaHoraria(40);
+        return curso;
+    }
+}
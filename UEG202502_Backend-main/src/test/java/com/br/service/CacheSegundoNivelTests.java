@@ -0,0 +1,142 @@
+package com.br.service;
+
+import com.br.model.Aluno;
+import com.br.model.Curso;
+import com.br.model.Turma;
+import com.br.repository.AlunoRepository;
+import com.br.repository.CursoRepository;
+import com.br.repository.TurmaRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Curso no cache de segundo nível: a segunda leitura não vai ao banco, a gravação do curso invalida
+ * o que foi guardado e as gravações de alunos (que ajustam o contador da turma com UPDATEs em lote)
+ * não derrubam os acertos. A Turma fica fora do cache.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CacheSegundoNivelTests {
+
+    @Autowired
+    private CursoService cursoService;
+
+    @Autowired
+    private TurmaService turmaService;
+
+    @Autowired
+    private AlunoService alunoService;
+
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private TurmaRepository turmaRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estatisticas;
+
+    private Long idCurso;
+
+    private Long idTurma;
+
+    @BeforeEach
+    void popularBanco() {
+        Curso curso = new Curso();
+        curso.setNome("Excel Avançado");
+        curso.setCargaHoraria(90);
+        idCurso = cursoRepository.save(curso).getId();
+        idTurma = turmaRepository.save(new Turma("Noturno", new ArrayList<>(List.of(curso)), new Date(), null)).getId();
+
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+    }
+
+    @AfterEach
+    void limparBanco() {
+        alunoRepository.deleteAll();
+        turmaRepository.deleteAll();
+        cursoRepository.deleteAll();
+    }
+
+    @Test
+    void segundaConsultaDoCursoNaoVaiAoBanco() {
+        cursoService.consultarCurso(idCurso);
+        estatisticas.clear();
+
+        assertThat(cursoService.consultarCurso(idCurso).getNome()).isEqualTo("Excel Avançado");
+        assertThat(estatisticas.getPrepareStatementCount()).isZero();
+        assertThat(estatisticas.getDomainDataRegionStatistics("curso").getHitCount()).isEqualTo(1);
+
+        Curso dados = new Curso();
+        dados.setNome("Excel");
+        dados.setCargaHoraria(80);
+        cursoService.editarCurso(idCurso, dados, null);
+        assertThat(cursoService.consultarCurso(idCurso).getNome()).isEqualTo("Excel");
+    }
+
+    @Test
+    void turmaNaoFicaNoCache() {
+        lerTurmaComCursos();
+        assertThat(entityManagerFactory.getCache().contains(Turma.class, idTurma)).isFalse();
+
+        transactionTemplate.executeWithoutResult(status -> turmaRepository.ajustarQuantidadeAlunos(idTurma, 3));
+        assertThat(turmaService.consultarTurma(idTurma).getQuantidadeAlunos()).isEqualTo(3);
+    }
+
+    @Test
+    void gravacoesDeAlunosNaoDerrubamOsAcertosDoCurso() {
+        cursoService.consultarCurso(idCurso);
+        cursoRepository.findByNomeNormalizado(Curso.normalizarNome("Excel Avançado"));
+        estatisticas.clear();
+
+        for (int i = 0; i < 5; i++) {
+            // Cada inclusão ajusta o contador da turma com um UPDATE em lote
+            Aluno aluno = new Aluno();
+            aluno.setNome("Aluno " + i);
+            aluno.setTurma(turmaRepository.getReferenceById(idTurma));
+            aluno.setCursos(new ArrayList<>(List.of(cursoRepository.getReferenceById(idCurso))));
+            alunoService.salvarAluno(aluno);
+
+            assertThat(lerTurmaComCursos()).isEqualTo(1);
+            assertThat(cursoService.consultarCurso(idCurso).getNome()).isEqualTo("Excel Avançado");
+            assertThat(cursoRepository.findByNomeNormalizado(Curso.normalizarNome("Excel Avançado"))).isPresent();
+        }
+
+        // Nenhuma leitura passou pelo cache sem encontrar o que procurava
+        assertThat(estatisticas.getSecondLevelCacheMissCount()).isZero();
+        CacheRegionStatistics curso = estatisticas.getDomainDataRegionStatistics("curso");
+        assertThat(curso.getHitCount()).isGreaterThanOrEqualTo(5);
+        assertThat(estatisticas.getQueryCacheMissCount()).isZero();
+        assertThat(estatisticas.getQueryCacheHitCount()).isEqualTo(5);
+        assertThat(turmaService.consultarTurma(idTurma).getQuantidadeAlunos()).isEqualTo(5);
+    }
+
+    // Carrega a turma e a coleção de cursos na mesma transação; devolve a quantidade de cursos
+    private int lerTurmaComCursos() {
+        return transactionTemplate.execute(status -> turmaService.consultarTurma(idTurma).getCursos().size());
+    }
+}
@@ -0,0 +1,64 @@
+package com.br.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Contagem de dias letivos do CalendarioAcademico: fins de semana, feriados anuais e datados,
+ * horas por turno e virada de ano.
+ */
+class CalendarioAcademicoTests {
+
+    private final CalendarioAcademico calendario = new CalendarioAcademico(
+            List.of("01-01", "04-21", "12-25", "2026-02-16", "2026-02-17"), 4, 4, 3, 8, "UTC");
+
+    @Test
+    void pulaFinsDeSemanaEFeriados() {
+        // Sexta, 2026-02-13: 4 dias letivos = sex 13, qua 18, qui 19, sex 20 (seg 16 e ter 17 são Carnaval)
+        assertThat(calendario.dataAposHoras(LocalDate.of(2026, 2, 13), 16, "Matutino"))
+            .isEqualTo(LocalDate.of(2026, 2, 20));
+        // Terça, 2026-04-21 é feriado: a contagem começa na quarta
+        assertThat(calendario.dataAposHoras(LocalDate.of(2026, 4, 21), 4, "Vespertino"))
+            .isEqualTo(LocalDate.of(2026, 4, 22));
+    }
+
+    @Test
+    void horasPorDiaDependemDoTurno() {
+        LocalDate segunda = LocalDate.of(2026, 3, 2);
+        assertThat(calendario.dataAposHoras(segunda, 12, "Matutino")).isEqualTo(LocalDate.of(2026, 3, 4));
+        assertThat(calendario.dataAposHoras(segunda, 12, "noturno")).isEqualTo(LocalDate.of(2026, 3, 5));
+        // Turno desconhecido usa 8 horas; hora que sobra ocupa mais um dia
+        assertThat(calendario.dataAposHoras(segunda, 17, null)).isEqualTo(LocalDate.of(2026, 3, 4));
+        assertThat(calendario.dataAposHoras(segunda, 0, "Noturno")).isEqualTo(segunda);
+    }
+
+    @Test
+    void atravessaAViradaDoAno() {
+        // Seg 2026-12-28 até qui 31 (4 dias), 2027-01-01 feriado, 1º dia letivo de 2027 é seg 04
+        assertThat(calendario.dataAposHoras(LocalDate.of(2026, 12, 28), 20, "Matutino"))
+            .isEqualTo(LocalDate.of(2027, 1, 4));
+        // Mais de um ano de aulas: 600 dias letivos depois de 2026-01-02
+        LocalDate esperado = LocalDate.of(2026, 1, 2);
+        int dias = 1;
+        while (dias < 600) {
+            esperado = esperado.plusDays(1);
+            if (calendario.isDiaLetivo(esperado)) {
+                dias++;
+            }
+        }
+        assertThat(calendario.dataAposHoras(LocalDate.of(2026, 1, 2), 600 * 8, "Integral")).isEqualTo(esperado);
+    }
+
+    @Test
+    void mantemOHorarioDaDataDeInicio() {
+        Date inicio = new Date(1_772_978_400_000L);  // Domingo, 2026-03-08T14:00:00Z
+        Date termino = calendario.calcularDataTermino(inicio, 8, "Matutino");
+
+        assertThat(termino.toInstant().toString()).isEqualTo("2026-03-10T14:00:00Z");
+    }
+}
@@ -0,0 +1,80 @@
+package com.br.service;
+
+import com.br.dto.ResolucaoCursosDTO;
+import com.br.model.Curso;
+import com.br.repository.CursoRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CursoCatalogoTests {
+
+    @Mock
+    private CursoRepository cursoRepository;
+
+    @InjectMocks
+    private CursoCatalogo cursoCatalogo;
+
+    @Test
+    void resolveCursosPorIdENomeComUmaUnicaCarga() {
+        when(cursoRepository.findAll()).thenReturn(List.of(curso(1L, "Excel Avançado"), curso(2L, "Marketing Digital")));
+
+        assertThat(cursoCatalogo.buscarPorId(1L)).map(Curso::getNome).contains("Excel Avançado");
+        assertThat(cursoCatalogo.buscarPorNome("  marketing DIGITAL ")).map(Curso::getId).contains(2L);
+        assertThat(cursoCatalogo.buscarPorNome("EXCEL   avancado")).map(Curso::getId).contains(1L);
+        assertThat(cursoCatalogo.buscarPorNome("Robótica")).isEmpty();
+
+        verify(cursoRepository, times(1)).findAll();
+        assertThat(cursoCatalogo.estatisticas().acertos()).isEqualTo(3);
+        assertThat(cursoCatalogo.estatisticas().falhas()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidarRecarregaNaProximaConsulta() {
+        when(cursoRepository.findAll())
+            .thenReturn(List.of(curso(1L, "Excel Avançado")))
+            .thenReturn(List.of(curso(1L, "Excel Avançado"), curso(3L, "Introdução à IA")));
+
+        assertThat(cursoCatalogo.buscarPorId(3L)).isEmpty();
+        cursoCatalogo.invalidar();
+        assertThat(cursoCatalogo.buscarPorId(3L)).isPresent();
+
+        assertThat(cursoCatalogo.estatisticas().recargas()).isEqualTo(2);
+    }
+
+    @Test
+    void resolverBuscaOsFaltantesEmLoteEPreservaAOrdem() {
+        when(cursoRepository.findAll()).thenReturn(List.of(curso(1L, "Excel Avançado")));
+        when(cursoRepository.findAllById(any())).thenReturn(List.of(curso(7L, "Marketing Digital")));
+        when(cursoRepository.findByNomeNormalizadoIn(any())).thenReturn(List.of(curso(8L, "Informática Básica")));
+
+        ResolucaoCursosDTO resolucao = cursoCatalogo.resolver(List.of(
+                curso(7L, null), curso(null, "informática básica"), curso(null, "Robótica"),
+                curso(1L, null), curso(null, "Xadrez")));
+
+        assertThat(resolucao.cursos()).extracting(Curso::getId).containsExactly(7L, 8L, 1L);
+        assertThat(resolucao.nomesNaoEncontrados()).containsExactly("Robótica", "Xadrez");
+        verify(cursoRepository).findAllById(Set.of(7L));
+        verify(cursoRepository).findByNomeNormalizadoIn(Set.of("informatica basica", "robotica", "xadrez"));
+    }
+
+    private static Curso curso(Long id, String nome) {
+        Curso curso = new Curso();
+        curso.setId(id);
+        curso.setNome(nome);
+        curso.setCargaHoraria(40);
+        return curso;
+    }
+}
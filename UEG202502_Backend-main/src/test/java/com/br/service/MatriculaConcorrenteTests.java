@@ -0,0 +1,96 @@
+package com.br.service;
+
+import com.br.exception.TurmaLotadaException;
+import com.br.model.Aluno;
+import com.br.model.Turma;
+import com.br.repository.AlunoRepository;
+import com.br.repository.TurmaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Muitos alunos disputando as vagas da mesma turma ao mesmo tempo: nenhuma vaga pode ser
+ * vendida duas vezes e quem não consegue vaga recebe TurmaLotadaException.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class MatriculaConcorrenteTests {
+
+    private static final int CAPACIDADE = 50;
+    private static final int ALUNOS = 400;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private AlunoService alunoService;
+
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    @Autowired
+    private TurmaRepository turmaRepository;
+
+    @AfterEach
+    void limparBanco() {
+        alunoRepository.deleteAll();
+        turmaRepository.deleteAll();
+    }
+
+    @Test
+    void naoUltrapassaACapacidadeSobConcorrencia() throws Exception {
+        Turma turma = new Turma("Noturno", null, new Date(), null);
+        turma.setCapacidade(CAPACIDADE);
+        Long idTurma = turmaRepository.save(turma).getId();
+
+        List<Aluno> alunos = new ArrayList<>();
+        for (int i = 0; i < ALUNOS; i++) {
+            Aluno aluno = new Aluno();
+            aluno.setNome("Aluno " + i);
+            alunos.add(aluno);
+        }
+        List<Long> codigos = alunoRepository.saveAll(alunos).stream().map(Aluno::getCodigo).toList();
+
+        AtomicInteger matriculados = new AtomicInteger();
+        AtomicInteger lotados = new AtomicInteger();
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> tarefas = new ArrayList<>();
+        for (Long codigo : codigos) {
+            tarefas.add(executor.submit(() -> {
+                largada.await();
+                try {
+                    alunoService.matricularNaTurma(codigo, idTurma);
+                    matriculados.incrementAndGet();
+                } catch (TurmaLotadaException e) {
+                    lotados.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        largada.countDown();
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get();
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(matriculados.get()).isEqualTo(CAPACIDADE);
+        assertThat(lotados.get()).isEqualTo(ALUNOS - CAPACIDADE);
+        assertThat(turmaRepository.contarAlunos(idTurma)).isEqualTo(CAPACIDADE);
+        assertThat(turmaRepository.findById(idTurma).orElseThrow().getQuantidadeAlunos()).isEqualTo(CAPACIDADE);
+    }
+}
@@ -0,0 +1,111 @@
+package com.br.service;
+
+import com.br.model.Curso;
+import com.br.model.Turma;
+import com.br.repository.CursoRepository;
+import com.br.repository.TurmaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mudança de carga horária de um curso: as turmas que têm o curso recebem a nova data de término
+ * (lidas em lotes de 2 para passar pelo cursor), as demais ficam como estavam.
+ */
+@SpringBootTest(properties = "app.recalculo-data-termino.tamanho-lote=2")
+@ActiveProfiles("test")
+class RecalculoDataTerminoTests {
+
+    private static final Date INICIO = new Date(1_767_225_600_000L);  // 2026-01-01T00:00:00Z
+
+    @Autowired
+    private CursoService cursoService;
+
+    @Autowired
+    private TurmaService turmaService;
+
+    @Autowired
+    private CalendarioAcademico calendario;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private TurmaRepository turmaRepository;
+
+    private Curso excel;
+
+    private Curso word;
+
+    @BeforeEach
+    void popularBanco() {
+        excel = cursoRepository.save(curso("Excel", 80));
+        word = cursoRepository.save(curso("Word", 40));
+    }
+
+    @AfterEach
+    void limparBanco() {
+        turmaRepository.deleteAll();
+        cursoRepository.deleteAll();
+    }
+
+    @Test
+    void turmasDoCursoRecebemANovaDataDeTermino() {
+        Long ambos = novaTurma(INICIO, excel, word);
+        Long soWord1 = novaTurma(INICIO, word);
+        Long soWord2 = novaTurma(INICIO, word);
+        Long soExcel = novaTurma(INICIO, excel);
+        Long semInicio = novaTurma(null, word);
+        assertThat(dataFim(ambos)).isEqualTo(termino(120));
+        long versaoSoExcel = turmaService.consultarTurma(soExcel).getVersao();
+
+        cursoService.editarCurso(word.getId(), curso("Word", 160), null);
+
+        assertThat(dataFim(ambos)).isEqualTo(termino(240));
+        assertThat(dataFim(soWord1)).isEqualTo(termino(160));
+        assertThat(dataFim(soWord2)).isEqualTo(termino(160));
+        assertThat(dataFim(soExcel)).isEqualTo(termino(80));
+        assertThat(turmaService.consultarTurma(soExcel).getVersao()).isEqualTo(versaoSoExcel);
+        assertThat(turmaService.consultarTurma(semInicio).getDataFim()).isNull();
+    }
+
+    @Test
+    void trocarSoONomeNaoMexeNasTurmas() {
+        Long turma = novaTurma(INICIO, word);
+        long versao = turmaService.consultarTurma(turma).getVersao();
+
+        cursoService.editarCurso(word.getId(), curso("Word Básico", 40), null);
+
+        assertThat(turmaService.consultarTurma(turma).getVersao()).isEqualTo(versao);
+        assertThat(dataFim(turma)).isEqualTo(termino(40));
+    }
+
+    private Long novaTurma(Date inicio, Curso... cursos) {
+        return turmaService.salvarTurma(new Turma("Noturno", new ArrayList<>(List.of(cursos)), inicio, null)).getId();
+    }
+
+    private long dataFim(Long idTurma) {
+        return turmaService.consultarTurma(idTurma).getDataFim().getTime();
+    }
+
+    // Término esperado de uma turma noturna iniciada em INICIO com a carga horária informada
+    private long termino(long totalHoras) {
+        return calendario.calcularDataTermino(INICIO, totalHoras, "Noturno").getTime();
+    }
+
+    private static Curso curso(String nome, int cargaHoraria) {
+        Curso curso = new Curso();
+        curso.setNome(nome);
+        curso.setCargaHoraria(cargaHoraria);
+        return curso;
+    }
+}
@@ -0,0 +1,4 @@
+-- Funções da busca por nome (V7__busca_por_nome.sql) no H2, implementadas em com.br.FuncoesBuscaH2
+CREATE ALIAS IF NOT EXISTS nome_busca FOR 'com.br.FuncoesBuscaH2.nomeBusca';
+CREATE ALIAS IF NOT EXISTS nome_parecido FOR 'com.br.FuncoesBuscaH2.nomeParecido';
+CREATE ALIAS IF NOT EXISTS word_similarity FOR 'com.br.FuncoesBuscaH2.wordSimilarity';
@@ -34,5 +34,15 @@ export class Turma {
      * apenas o relacionamento reverso (aluno.turma) é usado.
      */
     alunos?: any[]; // Tipo genérico para evitar dependência circular
+
+    /**
+     * Quantidade de alunos da turma, calculada pelo backend (sem enviar a lista de alunos).
+     */
+    quantidadeAlunos?: number;
+
+    /**
+     * Número máximo de alunos da turma (ausente = sem limite).
+     */
+    capacidade?: number;
 }
 
@@ -1,8 +1,19 @@
 import { Injectable } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
-import { Observable } from 'rxjs';
+import { EMPTY, Observable } from 'rxjs';
+import { expand, map, reduce } from 'rxjs/operators';
 import { Aluno } from '../model/aluno';
 
+/**
+ * Página retornada pelo backend em GET /alunos (paginação por cursor).
+ * Quando "proximoCursor" é nulo não há mais páginas.
+ */
+export interface PaginaAlunos {
+  itens: Aluno[];
+  proximoCursor: number | null;
+  limite: number;
+}
+
 @Injectable({
   providedIn: 'root'
 })
@@ -14,8 +25,36 @@ export class AlunoService {
 
   //Métodos que consomem os serviços HTTP do backend
 
+  listarPagina(cursor?: number | null, limite?: number): Observable<PaginaAlunos>{
+    const params: { [param: string]: string } = {};
+    if (cursor != null) {
+      params['cursor'] = String(cursor);
+    }
+    if (limite != null) {
+      params['limite'] = String(limite);
+    }
+    return this.httpClient.get<PaginaAlunos>(`${this.url}`, { params });
+  }
+
+  // Percorre todas as páginas seguindo o cursor e devolve a lista completa
   listarAlunos(): Observable<Aluno[]>{
-    return this.httpClient.get<Aluno[]>(`${this.url}`);
+    return this.listarPagina().pipe(
+      expand(pagina => pagina.proximoCursor != null ? this.listarPagina(pagina.proximoCursor) : EMPTY),
+      map(pagina => pagina.itens),
+      reduce((todos: Aluno[], itens: Aluno[]) => todos.concat(itens), [])
+    );
+  }
+
+  // Busca no backend pelo nome (sem acento, por trecho ou aproximado), em ordem de relevância
+  buscarAlunos(q: string, cursor?: number | null, limite?: number): Observable<PaginaAlunos>{
+    const params: { [param: string]: string } = { q };
+    if (cursor != null) {
+      params['cursor'] = String(cursor);
+    }
+    if (limite != null) {
+      params['limite'] = String(limite);
+    }
+    return this.httpClient.get<PaginaAlunos>(`${this.url}/search`, { params });
   }
 
   inserirAluno(aluno: Aluno): Observable<object>{
@@ -45,6 +45,8 @@ export class TurmaService {
       dataFim: turma.dataFim ? new Date(turma.dataFim) : undefined,
       curso: cursoProcessado, // Para compatibilidade com código existente
       cursos: cursosProcessados, // Lista completa de cursos (N×N)
+      quantidadeAlunos: turma.quantidadeAlunos,
+      capacidade: turma.capacidade,
       // Limpar referência circular: alunos não devem ter turma dentro deles
       alunos: turma.alunos ? turma.alunos.map((aluno: any) => ({
         codigo: aluno.codigo,
@@ -142,27 +144,9 @@ export class TurmaService {
       throw new Error('ID da turma inválido');
     }
     const urlCompleta = `${this.url}/${idNum}`;
-    // Receber como texto para processar manualmente e quebrar referências circulares
-    return this.httpClient.get(urlCompleta, { responseType: 'text' }).pipe(
-      map((responseText: string) => {
-        try {
-          // Remover referências circulares
-          let textoLimpo = responseText;
-          textoLimpo = textoLimpo.replace(/,"turma":\{[^}]*"id":[^,}]*,"turno":"[^"]*"[^}]*\}/g, '');
-          
-          let tentativas = 0;
-          while (textoLimpo.includes('"turma":{') && tentativas < 10) {
-            textoLimpo = textoLimpo.replace(/,"turma":\{[^}]*\}/g, '');
-            tentativas++;
-          }
-          
-          const turma = JSON.parse(textoLimpo);
-          return this.processarTurma(turma);
-        } catch (error) {
-          console.error('Erro ao processar resposta do backend:', error);
-          throw new Error('Erro ao processar resposta do servidor.');
-        }
-      }),
+    // O backend responde com um DTO plano (sem referências circulares), então o JSON pode ser lido direto
+    return this.httpClient.get<any>(urlCompleta).pipe(
+      map((turma: any) => this.processarTurma(turma)),
       catchError((error: HttpErrorResponse | Error) => {
         console.error('Erro ao consultar turma:', error);
         return throwError(() => error);